@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# 기동 벤치마크
+#   default   : java -jar
+#   fast-start: java -XX:SharedArchiveFile=<jsa> -Dspring.aot.enabled=true -jar (faststart 프로파일)
+# 각 모드를 BENCH_RUNS 회 실행하며 프로세스 시작부터 첫 GET /api/users/health 200 응답까지 시간과
+# 그 시점의 RSS 를 측정한다.
+#
+# usage: startup-benchmark.sh <extracted-jar> <cds-archive> <report-file>
+#
+set -euo pipefail
+
+JAR="$1"
+JSA="$2"
+REPORT="$3"
+JAVA_BIN="${JAVA_BIN:-java}"
+RUNS="${BENCH_RUNS:-5}"
+PORT="${BENCH_PORT:-18080}"
+TIMEOUT_SEC="${BENCH_TIMEOUT_SEC:-60}"
+# DB 연결 없이 측정할 수 있도록 워밍업은 끈다 (health 엔드포인트는 DB 를 사용하지 않음)
+APP_ARGS="${BENCH_APP_ARGS:---warmup.enabled=false}"
+
+export DB_ENGINE="${DB_ENGINE:-mysql}" DB_HOST="${DB_HOST:-localhost}" DB_RO_HOST="${DB_RO_HOST:-localhost}"
+export DB_PORT="${DB_PORT:-3306}" DB_NAME="${DB_NAME:-sample}"
+export DB_USERNAME="${DB_USERNAME:-sample}" DB_PASSWORD="${DB_PASSWORD:-sample}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# $1: 모드 이름, 나머지: JVM 옵션
+run_once() {
+    local mode="$1"
+    shift
+    local start pid elapsed rss
+
+    start=$(now_ms)
+    "$JAVA_BIN" "$@" -jar "$JAR" --server.port="$PORT" $APP_ARGS > /dev/null 2>&1 &
+    pid=$!
+
+    while ! curl -sf -o /dev/null "http://127.0.0.1:${PORT}/api/users/health"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$mode: application exited before becoming healthy" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SEC * 1000 )); then
+            kill -9 "$pid" 2> /dev/null || true
+            echo "$mode: timed out after ${TIMEOUT_SEC}s" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(awk '/VmRSS/ { print $2 }' "/proc/${pid}/status")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    echo "$elapsed $(( rss / 1024 ))"
+}
+
+# $1: 모드 이름, 나머지: JVM 옵션
+bench() {
+    local mode="$1"
+    shift
+    local results=()
+    for (( i = 1; i <= RUNS; i++ )); do
+        results+=("$(run_once "$mode" "$@")")
+    done
+    printf '%s\n' "${results[@]}" | sort -n | awk -v mode="$mode" '
+        { t[NR] = $1; r[NR] = $2; sumR += $2 }
+        END {
+            median = (NR % 2) ? t[(NR + 1) / 2] : (t[NR / 2] + t[NR / 2 + 1]) / 2
+            printf "%-10s runs=%d  first-health min=%d ms  median=%d ms  max=%d ms  rss avg=%d MB\n",
+                   mode, NR, t[1], median, t[NR], sumR / NR
+        }'
+}
+
+mkdir -p "$(dirname "$REPORT")"
+{
+    bench default
+    bench fast-start -XX:SharedArchiveFile="$JSA" -Dspring.aot.enabled=true -Dspring.profiles.active=faststart
+} | tee "$REPORT"
@@ -0,0 +1,94 @@
+package com.chicken.sample.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 부하 테스트 설정 클래스
+ * classpath 의 loadtest.properties 를 읽고 같은 이름의 시스템 프로퍼티로 덮어쓴다.
+ */
+public class LoadTestConfig {
+    private final Properties properties = new Properties();
+
+    public LoadTestConfig() throws IOException {
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("loadtest.")) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+    }
+
+    public double getRate() {
+        return getDouble("loadtest.rate", 200);
+    }
+
+    public int getDurationSec() {
+        return (int) getDouble("loadtest.duration-sec", 60);
+    }
+
+    public int getWarmupSec() {
+        return (int) getDouble("loadtest.warmup-sec", 10);
+    }
+
+    public int getMaxInFlight() {
+        return (int) getDouble("loadtest.max-in-flight", 512);
+    }
+
+    public int getSeedUsers() {
+        return (int) getDouble("loadtest.seed-users", 500);
+    }
+
+    public String getReportDir() {
+        return properties.getProperty("loadtest.report-dir", "build/reports/loadtest");
+    }
+
+    /**
+     * 요청 종류별 가중치
+     */
+    public Map<Operation, Integer> getMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            int weight = (int) getDouble("loadtest.mix." + op.getKey(), 0);
+            if (weight > 0) {
+                mix.put(op, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix.* must define at least one positive weight");
+        }
+        return mix;
+    }
+
+    public double getBudgetP50Ms() {
+        return getDouble("loadtest.budget.p50-ms", Double.MAX_VALUE);
+    }
+
+    public double getBudgetP99Ms() {
+        return getDouble("loadtest.budget.p99-ms", Double.MAX_VALUE);
+    }
+
+    public double getBudgetP999Ms() {
+        return getDouble("loadtest.budget.p999-ms", Double.MAX_VALUE);
+    }
+
+    public double getBudgetMinThroughput() {
+        return getDouble("loadtest.budget.min-throughput", 0);
+    }
+
+    public double getBudgetMaxErrorRate() {
+        return getDouble("loadtest.budget.max-error-rate", 1.0);
+    }
+
+    private double getDouble(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value.trim());
+    }
+}
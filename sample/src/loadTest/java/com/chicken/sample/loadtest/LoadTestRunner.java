@@ -0,0 +1,372 @@
+package com.chicken.sample.loadtest;
+
+import com.chicken.sample.SampleApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.ibatis.session.SqlSession;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * UserController 부하 테스트 실행 클래스
+ * 임베디드 H2(MySQL 모드) 위에서 애플리케이션을 띄우고 open-model 도착률로 혼합 워크로드를 재생한 뒤
+ * 요청 종류별 HDR 히스토그램과 예산 검사 결과를 출력한다. 예산을 넘으면 종료 코드 1 로 끝난다.
+ */
+public class LoadTestRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final String JDBC_URL = "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final int ID_POOL_CAPACITY = 1 << 16;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final String baseUrl;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> clientErrors = new EnumMap<>(Operation.class);
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicReferenceArray<String> userIds = new AtomicReferenceArray<>(ID_POOL_CAPACITY);
+    private final AtomicLong userIdCount = new AtomicLong();
+    private final AtomicLong userIdSequence = new AtomicLong();
+
+    public LoadTestRunner(LoadTestConfig config, int port) {
+        this.config = config;
+        this.baseUrl = "http://127.0.0.1:" + port;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation op : Operation.values()) {
+            histograms.put(op, new ConcurrentHistogram(3));
+            errors.put(op, new AtomicLong());
+            clientErrors.put(op, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.main.keep-alive", false);
+        properties.put("logging.level.com.chicken.sample", "WARN");
+        for (String ds : List.of("primary", "readonly")) {
+            properties.put("spring.datasource." + ds + ".driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource." + ds + ".url", JDBC_URL);
+            properties.put("spring.datasource." + ds + ".username", "sa");
+            properties.put("spring.datasource." + ds + ".password", "");
+        }
+
+        createSchema();
+
+        boolean passed;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SampleApplication.class)
+                .properties(properties)
+                .run(args)) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            LoadTestRunner runner = new LoadTestRunner(config, port);
+            runner.seed();
+            try {
+                double elapsedSec = runner.run();
+                passed = runner.report(elapsedSec);
+            } catch (IllegalStateException e) {
+                logger.error("RESULT: FAIL - {}", e.getMessage());
+                passed = false;
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * 애플리케이션 기동 전에 mapper 의 DDL 로 테이블 생성
+     * 기동 중 실행되는 SchemaMigration, UserIdFilter, StartupWarmup 이 운영과 같이 테이블이 있는 상태에서 돌아야
+     * 부하 테스트가 기동 경로까지 그대로 측정한다. (DB_CLOSE_DELAY=-1 이므로 이 풀을 닫아도 DB 는 유지됨)
+     */
+    private static void createSchema() throws Exception {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(JDBC_URL);
+            dataSource.setUsername("sa");
+            dataSource.setPassword("");
+            dataSource.setMaximumPoolSize(1);
+
+            SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+            factoryBean.setDataSource(dataSource);
+            factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mapper/*.xml"));
+            try (SqlSession session = factoryBean.getObject().openSession(true)) {
+                session.update("user.createUserTable");
+                session.update("chickenStock.createChickenStockTable");
+            }
+        }
+    }
+
+    /**
+     * 조회/수정/삭제 대상 사용자 미리 생성
+     */
+    private void seed() throws Exception {
+        logger.info("Seeding {} users", config.getSeedUsers());
+        for (int i = 0; i < config.getSeedUsers(); i++) {
+            String userId = nextUserId();
+            HttpResponse<Void> response = client.send(createRequest(userId), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            addUserId(userId);
+        }
+    }
+
+    /**
+     * 워밍업 + 측정 구간 동안 포아송 도착으로 요청 발생
+     * 지연은 예정 시작 시각부터 측정하므로 서버가 밀릴 때의 대기(coordinated omission)도 포함된다.
+     * @return 측정 구간 길이(초), 완료 대기 시간은 제외
+     * @throws IllegalStateException 남은 in-flight 요청이 제한 시간 안에 끝나지 않음 (히스토그램이 아직 기록 중)
+     */
+    private double run() throws InterruptedException {
+        List<Operation> mixTable = new ArrayList<>();
+        config.getMix().forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                mixTable.add(op);
+            }
+        });
+
+        Semaphore inFlight = new Semaphore(config.getMaxInFlight());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(config.getWarmupSec());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(config.getDurationSec());
+
+        logger.info("Running {} req/s for {}s (+{}s warm-up)", config.getRate(), config.getDurationSec(), config.getWarmupSec());
+        double next = start;
+        while (true) {
+            next += -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos;
+            long intended = (long) next;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation op = mixTable.get(ThreadLocalRandom.current().nextInt(mixTable.size()));
+            boolean measured = intended >= measureStart;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped.incrementAndGet();
+                }
+                continue;
+            }
+            fire(op, intended, measured, inFlight);
+        }
+
+        // 남은 in-flight 요청 완료 대기 (끝나지 않으면 콜백이 히스토그램에 쓰는 도중 리포트를 만들게 됨)
+        if (!inFlight.tryAcquire(config.getMaxInFlight(), 30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException((config.getMaxInFlight() - inFlight.availablePermits())
+                    + " requests still in flight 30s after the run ended");
+        }
+        // 처리량 분모는 요청을 발생시킨 측정 구간 (완료 대기 시간은 포함하지 않음)
+        return (end - measureStart) / 1e9;
+    }
+
+    private void fire(Operation op, long intended, boolean measured, Semaphore inFlight) {
+        String userId;
+        HttpRequest request;
+        switch (op) {
+            case CREATE:
+                userId = nextUserId();
+                request = createRequest(userId);
+                break;
+            case GET:
+                userId = randomUserId();
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + userId)).GET().build();
+                break;
+            case LIST:
+                userId = null;
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users")).GET().build();
+                break;
+            case UPDATE:
+                userId = randomUserId();
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + userId))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(userJson(userId, "updated")))
+                        .build();
+                break;
+            case DELETE:
+                userId = takeUserId();
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/" + userId)).DELETE().build();
+                break;
+            default:
+                userId = null;
+                request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/health/db")).GET().build();
+                break;
+        }
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    try {
+                        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        if (op == Operation.CREATE && error == null && response.statusCode() == 201) {
+                            addUserId(userId);
+                        }
+                        if (!measured) {
+                            return;
+                        }
+                        histograms.get(op).recordValue(latencyMicros);
+                        if (error != null || response.statusCode() >= 500) {
+                            errors.get(op).incrementAndGet();
+                        } else if (response.statusCode() >= 400) {
+                            // 동시 삭제와 경합한 조회/수정 등은 4xx 로 따로 집계
+                            clientErrors.get(op).incrementAndGet();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    /**
+     * 결과 출력 및 예산 검사
+     * @return 예산 통과 여부
+     */
+    private boolean report(double elapsedSec) throws Exception {
+        File reportDir = new File(config.getReportDir());
+        reportDir.mkdirs();
+
+        Histogram total = new Histogram(3);
+        long totalErrors = dropped.get();
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-10s %9s %10s %9s %9s %9s %9s %7s %7s%n",
+                "operation", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "5xx", "4xx"));
+
+        for (Operation op : Operation.values()) {
+            Histogram histogram = histograms.get(op);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(op).get();
+            summary.append(line(op.getKey(), histogram, elapsedSec, errors.get(op).get(), clientErrors.get(op).get()));
+            try (PrintStream out = new PrintStream(new FileOutputStream(new File(reportDir, op.getKey() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        summary.append(line("total", total, elapsedSec, totalErrors, 0));
+        summary.append(String.format("dropped (max in-flight reached): %d%n", dropped.get()));
+        try (PrintStream out = new PrintStream(new FileOutputStream(new File(reportDir, "total.hgrm")))) {
+            total.outputPercentileDistribution(out, 1000.0);
+        }
+
+        long attempted = total.getTotalCount() + dropped.get();
+        double throughput = total.getTotalCount() / elapsedSec;
+        double errorRate = attempted == 0 ? 0 : (double) totalErrors / attempted;
+
+        List<String> violations = new ArrayList<>();
+        checkLatency(violations, "p50", total.getValueAtPercentile(50.0), config.getBudgetP50Ms());
+        checkLatency(violations, "p99", total.getValueAtPercentile(99.0), config.getBudgetP99Ms());
+        checkLatency(violations, "p999", total.getValueAtPercentile(99.9), config.getBudgetP999Ms());
+        if (throughput < config.getBudgetMinThroughput()) {
+            violations.add(String.format("throughput %.1f req/s < budget %.1f req/s", throughput, config.getBudgetMinThroughput()));
+        }
+        if (errorRate > config.getBudgetMaxErrorRate()) {
+            violations.add(String.format("error rate %.4f > budget %.4f", errorRate, config.getBudgetMaxErrorRate()));
+        }
+
+        if (violations.isEmpty()) {
+            summary.append("RESULT: PASS").append(System.lineSeparator());
+        } else {
+            summary.append("RESULT: FAIL").append(System.lineSeparator());
+            violations.forEach(v -> summary.append("  - ").append(v).append(System.lineSeparator()));
+        }
+
+        try (PrintStream out = new PrintStream(new FileOutputStream(new File(reportDir, "summary.txt")))) {
+            out.print(summary);
+        }
+        System.out.print(summary);
+        return violations.isEmpty();
+    }
+
+    private static String line(String name, Histogram histogram, double elapsedSec, long serverErrors, long clientErrors) {
+        return String.format("%-10s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / elapsedSec,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                serverErrors,
+                clientErrors);
+    }
+
+    private static void checkLatency(List<String> violations, String name, long valueMicros, double budgetMs) {
+        double valueMs = valueMicros / 1000.0;
+        if (valueMs > budgetMs) {
+            violations.add(String.format("%s %.2f ms > budget %.2f ms", name, valueMs, budgetMs));
+        }
+    }
+
+    private HttpRequest createRequest(String userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(userJson(userId, "load test")))
+                .build();
+    }
+
+    private static String userJson(String userId, String name) {
+        return "{\"userId\":\"" + userId + "\",\"name\":\"" + name + "\",\"email\":\"" + userId
+                + "@example.com\",\"phone\":\"010-0000-0000\",\"status\":\"ACTIVE\"}";
+    }
+
+    private String nextUserId() {
+        return "lt-" + userIdSequence.incrementAndGet();
+    }
+
+    private void addUserId(String userId) {
+        long index = userIdCount.getAndIncrement();
+        userIds.set((int) (index % ID_POOL_CAPACITY), userId);
+    }
+
+    /**
+     * 임의의 기존 사용자 ID, 슬롯이 비어 있으면 존재하지 않는 ID
+     */
+    private String randomUserId() {
+        int size = (int) Math.min(userIdCount.get(), ID_POOL_CAPACITY);
+        String userId = size == 0 ? null : userIds.get(ThreadLocalRandom.current().nextInt(size));
+        return userId != null ? userId : "lt-missing";
+    }
+
+    /**
+     * 임의의 기존 사용자 ID 를 풀에서 꺼냄 (삭제용)
+     */
+    private String takeUserId() {
+        int size = (int) Math.min(userIdCount.get(), ID_POOL_CAPACITY);
+        String userId = size == 0 ? null : userIds.getAndSet(ThreadLocalRandom.current().nextInt(size), null);
+        return userId != null ? userId : "lt-missing";
+    }
+}
@@ -0,0 +1,26 @@
+package com.chicken.sample.loadtest;
+
+/**
+ * 부하 테스트 워크로드 구성 요청 종류
+ */
+public enum Operation {
+    CREATE("create"),
+    GET("get"),
+    LIST("list"),
+    UPDATE("update"),
+    DELETE("delete"),
+    HEALTH_DB("health-db");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * loadtest.mix.* 설정 키 및 리포트 이름
+     */
+    public String getKey() {
+        return key;
+    }
+}
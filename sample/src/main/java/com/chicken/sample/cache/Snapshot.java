@@ -0,0 +1,105 @@
+package com.chicken.sample.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 직렬화가 끝난 응답 본문 스냅샷 (immutable)
+ * 요청마다 직렬화하지 않고 바이트를 그대로 응답 스트림에 복사한다.
+ */
+public final class Snapshot {
+    private static final int COPY_CHUNK = 64 * 1024;
+
+    private final ByteBuffer body;
+    private final ByteBuffer gzipBody;
+    private final String etag;
+    private final long builtAt;
+
+    private Snapshot(ByteBuffer body, ByteBuffer gzipBody, String etag, long builtAt) {
+        this.body = body;
+        this.gzipBody = gzipBody;
+        this.etag = etag;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * 스냅샷 생성
+     * @param bytes 직렬화된 본문
+     * @param gzip gzip 본문도 미리 만들지 여부
+     * @param offHeap direct buffer(힙 밖)에 보관할지 여부
+     */
+    public static Snapshot of(byte[] bytes, boolean gzip, boolean offHeap) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        String etag = Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(bytes.length);
+        return new Snapshot(
+                store(bytes, offHeap),
+                gzip ? store(gzip(bytes), offHeap) : null,
+                etag,
+                System.currentTimeMillis());
+    }
+
+    /**
+     * 본문을 출력 스트림에 복사
+     * @param out 응답 스트림
+     * @param gzip gzip 본문 사용 여부 (hasGzip() 이 true 일 때만)
+     */
+    public void writeTo(OutputStream out, boolean gzip) throws IOException {
+        ByteBuffer source = (gzip ? gzipBody : body).duplicate();
+        if (source.hasArray()) {
+            out.write(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            return;
+        }
+        byte[] chunk = new byte[Math.min(COPY_CHUNK, source.remaining())];
+        while (source.hasRemaining()) {
+            int length = Math.min(chunk.length, source.remaining());
+            source.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    public boolean hasGzip() {
+        return gzipBody != null;
+    }
+
+    public int getLength(boolean gzip) {
+        return (gzip ? gzipBody : body).remaining();
+    }
+
+    /**
+     * 본문 표현별 ETag (gzip 본문은 바이트가 다르므로 strong validator 가 달라야 함)
+     * @param gzip gzip 본문 여부
+     */
+    public String getEtag(boolean gzip) {
+        return gzip ? etag + "-gzip" : etag;
+    }
+
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    private static ByteBuffer store(byte[] bytes, boolean offHeap) {
+        if (!offHeap) {
+            // read-only 로 감싸면 array() 를 쓸 수 없으므로 그대로 두고 외부에 노출하지 않는다
+            return ByteBuffer.wrap(bytes);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,188 @@
+package com.chicken.sample.cache;
+
+import com.chicken.sample.db.SqlMapBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 자주 읽히는 목록 응답의 직렬화 스냅샷 캐시 클래스
+ * SqlMapBuilder 로 해당 namespace 에 쓰기가 commit 되면 비동기로 다시 만들고,
+ * 그동안에는 직전 스냅샷을 그대로 내보낸다. 쓰기 이후의 재생성은 방금 commit 된 쓰기를 반드시 보도록
+ * primary 에서 읽고, 다른 인스턴스의 쓰기는 max-age 가 지나면 readonly 에서 다시 만드는 것으로 보정한다.
+ */
+@Component
+public class SnapshotCache {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean gzip;
+    private final boolean offHeap;
+    private final long maxAgeMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "snapshot-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public SnapshotCache(
+            SqlMapBuilder sqlMapBuilder,
+            ObjectMapper objectMapper,
+            @Value("${snapshot.enabled:true}") boolean enabled,
+            @Value("${snapshot.gzip:true}") boolean gzip,
+            @Value("${snapshot.off-heap:false}") boolean offHeap,
+            @Value("${snapshot.max-age-ms:5000}") long maxAgeMs) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.offHeap = offHeap;
+        this.maxAgeMs = maxAgeMs;
+        sqlMapBuilder.addWriteListener(this::onWrite);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 스냅샷 등록
+     * @param key 스냅샷 이름
+     * @param namespace 이 namespace 에 쓰기가 commit 되면 다시 만듦
+     * @param bodySupplier 응답 본문 객체 생성 (JSON 으로 직렬화됨)
+     */
+    public void register(String key, String namespace, Supplier<Object> bodySupplier) {
+        entries.put(key, new Entry(key, namespace, bodySupplier));
+    }
+
+    /**
+     * 현재 스냅샷 조회
+     * 처음 한 번은 호출 스레드에서 만들고, 이후에는 만료/무효화 시 비동기로 다시 만든다.
+     * @param key 스냅샷 이름
+     * @return 스냅샷
+     */
+    public Snapshot get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown snapshot: " + key);
+        }
+
+        Snapshot snapshot = entry.snapshot;
+        if (snapshot == null) {
+            synchronized (entry) {
+                if (entry.snapshot == null) {
+                    entry.rebuild();
+                }
+                return entry.snapshot;
+            }
+        }
+        if (System.currentTimeMillis() - snapshot.getBuiltAt() > maxAgeMs) {
+            scheduleRebuild(entry);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 쓰기 commit 통지 (namespace 가 null 이면 전체)
+     */
+    private void onWrite(String namespace) {
+        for (Entry entry : entries.values()) {
+            if (namespace == null || namespace.equals(entry.namespace)) {
+                entry.generation.incrementAndGet();
+                if (entry.snapshot != null) {
+                    scheduleRebuild(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * 비동기 재생성 예약 (이미 예약돼 있으면 합침)
+     */
+    private void scheduleRebuild(Entry entry) {
+        if (!entry.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            boolean rebuilt = false;
+            try {
+                // 재생성 중 쓰기가 더 들어오면 한 번 더 만든다
+                do {
+                    entry.rebuild();
+                } while (entry.builtGeneration != entry.generation.get());
+                rebuilt = true;
+            } catch (Exception e) {
+                logger.error("Snapshot {} rebuild failed, keeping previous: {}", entry.key, e.getMessage(), e);
+            } finally {
+                entry.scheduled.set(false);
+            }
+            // 위 확인과 scheduled 해제 사이에 들어온 쓰기는 CAS 에 실패해 예약되지 않았으므로 다시 확인
+            // (실패한 경우에는 반복 재시도하지 않고 max-age 에 맡긴다)
+            if (rebuilt && entry.builtGeneration != entry.generation.get()) {
+                scheduleRebuild(entry);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 스냅샷 하나의 상태
+     */
+    private final class Entry {
+        private final String key;
+        private final String namespace;
+        private final Supplier<Object> bodySupplier;
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        // 현재 스냅샷을 만들기 시작할 때의 generation
+        private volatile long builtGeneration;
+        private volatile Snapshot snapshot;
+
+        private Entry(String key, String namespace, Supplier<Object> bodySupplier) {
+            this.key = key;
+            this.namespace = namespace;
+            this.bodySupplier = bodySupplier;
+        }
+
+        private void rebuild() {
+            long start = System.nanoTime();
+            long generation = this.generation.get();
+            // 마지막 재생성 이후 쓰기가 있었으면 primary 에서 읽는다 (readonly 는 아직 복제 전일 수 있음)
+            Object body = generation != builtGeneration
+                    ? SqlMapBuilder.readFromPrimary(bodySupplier)
+                    : bodySupplier.get();
+            byte[] bytes;
+            try {
+                bytes = objectMapper.writeValueAsBytes(body);
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize snapshot " + key, e);
+            }
+            snapshot = Snapshot.of(bytes, gzip, offHeap);
+            builtGeneration = generation;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Snapshot {} rebuilt in {} us ({} bytes, gzip {} bytes)", key,
+                        (System.nanoTime() - start) / 1000, bytes.length,
+                        snapshot.hasGzip() ? snapshot.getLength(true) : -1);
+            }
+        }
+    }
+}
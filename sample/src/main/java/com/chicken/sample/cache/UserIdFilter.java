@@ -0,0 +1,307 @@
+package com.chicken.sample.cache;
+
+import com.chicken.sample.db.ShardedSqlMapBuilder;
+import com.chicken.sample.db.SqlMapBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 존재하지 않는 USER_ID 조회를 DB 없이 걸러내는 negative lookup 필터 클래스
+ * 기동 시 USER_ID 스트리밍 스캔으로 Bloom filter 를 만들고, createUser 시 추가, 주기적으로 재구축한다.
+ * Bloom filter 는 삭제를 지원하지 않으므로 삭제된 ID 는 다음 재구축 전까지 "있을 수도 있음"으로 남는다(안전한 방향).
+ * 다른 인스턴스에서 생성된 ID 는 짧은 주기의 증분 동기화(ID PK 범위 스캔)로 반영하고, 마지막 동기화가
+ * max-staleness-ms 보다 오래됐으면 필터의 "없음" 판정을 쓰지 않고 DB 를 조회한다.
+ * 따라서 다른 인스턴스에서 막 생성된 ID 가 404 로 보일 수 있는 구간은 동기화 주기 + readonly 복제 지연으로 제한된다.
+ */
+@Component
+@Order(0)
+public class UserIdFilter implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(UserIdFilter.class);
+
+    private final SqlMapBuilder sqlMapBuilder;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    // 재구축 완료 전에는 null (모든 ID 를 "있을 수도 있음"으로 처리)
+    private volatile BloomFilter current;
+    // 재구축 중인 필터, 스캔 도중 생성된 ID 도 여기에 넣는다
+    private volatile BloomFilter building;
+    // 직전 재구축 시작 이후 이 인스턴스에서 생성된 ID (readonly 복제 지연으로 스캔에서 빠질 수 있는 ID 보정)
+    private volatile Queue<String> recentlyAdded = new ConcurrentLinkedQueue<>();
+
+    // 증분 동기화: 소스(샤드)별로 마지막으로 본 ID, 최초 구축 전에는 null
+    private final List<SqlMapBuilder> sources;
+    private volatile long[] lastSeenIds;
+    private final long overlapIds;
+    private final long maxStalenessNanos;
+    // 필터가 이 시점(nanoTime) 이전에 커밋된 ID 를 모두 포함한다고 볼 수 있는 기준
+    private final AtomicLong freshAsOf = new AtomicLong(Long.MIN_VALUE);
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final AtomicLong deletedSinceBuild = new AtomicLong();
+    private final Counter negativeHits;
+    private final Counter staleMisses;
+
+    @Autowired
+    public UserIdFilter(
+            SqlMapBuilder sqlMapBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${user-id-filter.enabled:false}") boolean enabled,
+            @Value("${user-id-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${user-id-filter.fpp:0.01}") double fpp,
+            @Value("${user-id-filter.delta-overlap-ids:1000}") long overlapIds,
+            @Value("${user-id-filter.max-staleness-ms:5000}") long maxStalenessMs) {
+        this.sqlMapBuilder = sqlMapBuilder;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.overlapIds = overlapIds;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMs);
+        // 샤딩 시 ID 는 샤드마다 따로 증가하므로 샤드별로 동기화
+        this.sources = sqlMapBuilder instanceof ShardedSqlMapBuilder
+                ? ((ShardedSqlMapBuilder) sqlMapBuilder).getShards()
+                : List.of(sqlMapBuilder);
+
+        this.negativeHits = Counter.builder("user.id.filter.negative")
+                .description("Lookups answered as definite misses without querying the database")
+                .register(meterRegistry);
+        this.staleMisses = Counter.builder("user.id.filter.stale")
+                .description("Filter misses sent to the database because the filter was not synced recently")
+                .register(meterRegistry);
+        Gauge.builder("user.id.filter.fpp", this, f -> f.current == null ? 1.0 : f.current.estimatedFpp())
+                .description("Estimated false positive probability of the user id filter")
+                .register(meterRegistry);
+        Gauge.builder("user.id.filter.memory", this, f -> f.current == null ? 0 : f.current.getMemoryBytes())
+                .baseUnit("bytes")
+                .description("Memory used by the user id filter bit array")
+                .register(meterRegistry);
+        Gauge.builder("user.id.filter.keys", this, f -> f.current == null ? 0 : f.current.getInsertions())
+                .description("Distinct keys inserted into the user id filter (approximate)")
+                .register(meterRegistry);
+        Gauge.builder("user.id.filter.deleted", deletedSinceBuild, AtomicLong::get)
+                .description("Users deleted since the last rebuild (still reported as possibly present)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기동 시 최초 구축 (readiness 전에 실행)
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 주기적 재구축
+     */
+    @Scheduled(initialDelayString = "${user-id-filter.rebuild-interval-ms:300000}",
+            fixedDelayString = "${user-id-filter.rebuild-interval-ms:300000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 증분 동기화 (다른 인스턴스에서 생성된 ID 반영)
+     */
+    @Scheduled(initialDelayString = "${user-id-filter.delta-interval-ms:1000}",
+            fixedDelayString = "${user-id-filter.delta-interval-ms:1000}")
+    public void syncRecent() {
+        long[] seen = lastSeenIds;
+        if (!enabled || seen == null || current == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long added = 0;
+            for (int i = 0; i < sources.size(); i++) {
+                // auto-increment ID 는 커밋 순서와 다를 수 있으므로 마지막 ID 보다 overlap 만큼 앞에서부터 다시 읽는다
+                Map<String, Object> param = new HashMap<>();
+                param.put("afterId", Math.max(0, seen[i] - overlapIds));
+                long[] maxId = {seen[i]};
+                long[] count = {0};
+                sources.get(i).selectEach("user.selectUserIdsAfter", param, new ResultHandler<Map<String, Object>>() {
+                    @Override
+                    public void handleResult(ResultContext<? extends Map<String, Object>> context) {
+                        Map<String, Object> row = context.getResultObject();
+                        Object userId = row.get("USER_ID");
+                        if (userId != null) {
+                            add(userId.toString());
+                            count[0]++;
+                        }
+                        Object id = row.get("ID");
+                        if (id instanceof Number) {
+                            maxId[0] = Math.max(maxId[0], ((Number) id).longValue());
+                        }
+                    }
+                });
+                seen[i] = maxId[0];
+                added += count[0];
+            }
+            markFresh(start);
+            if (logger.isDebugEnabled()) {
+                logger.debug("User id filter synced {} recent ids in {} ms", added,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } catch (Exception e) {
+            // 동기화가 밀리면 max-staleness 이후 DB 조회로 전환되므로 여기서는 기록만
+            logger.warn("User id filter sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * USER_ID 스트리밍 스캔으로 새 필터를 만들어 교체
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            logger.warn("User id filter rebuild already in progress, skipping");
+            return;
+        }
+        Queue<String> addedBeforeThisBuild = null;
+        try {
+            long start = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            // 최초 구축: 스캔 전에 최대 ID 를 읽어 두면 스캔 도중 생성된 ID 는 증분 동기화에서도 다시 읽힌다
+            long[] initialSeenIds = lastSeenIds == null ? readMaxIds() : null;
+
+            BloomFilter previous = current;
+            long size = Math.max(expectedInsertions, previous == null ? 0 : previous.getInsertions() * 2);
+            BloomFilter next = new BloomFilter(size, fpp);
+
+            // building 을 먼저 공개해야 큐 교체 이후의 생성 ID 가 새 필터에 반드시 들어간다
+            building = next;
+            addedBeforeThisBuild = recentlyAdded;
+            recentlyAdded = new ConcurrentLinkedQueue<>();
+
+            sqlMapBuilder.selectEach("user.selectAllUserIds", null, new ResultHandler<String>() {
+                @Override
+                public void handleResult(ResultContext<? extends String> context) {
+                    String userId = context.getResultObject();
+                    if (userId != null) {
+                        next.put(userId);
+                    }
+                }
+            });
+            addedBeforeThisBuild.forEach(next::put);
+            addedBeforeThisBuild = null;
+
+            if (initialSeenIds != null) {
+                lastSeenIds = initialSeenIds;
+            }
+            current = next;
+            markFresh(startNanos);
+            deletedSinceBuild.set(0);
+            logger.info("User id filter rebuilt in {} ms: {} keys, {} bytes, {} hashes, estimated fpp {}",
+                    System.currentTimeMillis() - start, next.getInsertions(), next.getMemoryBytes(),
+                    next.getHashCount(), String.format("%.5f", next.estimatedFpp()));
+        } catch (Exception e) {
+            // 실패 시 기존 필터 유지 (최초 구축 실패면 필터 없이 모두 DB 조회)
+            logger.error("User id filter rebuild failed: {}", e.getMessage(), e);
+            if (addedBeforeThisBuild != null) {
+                // 다음 구축에서 빠지지 않도록 교체해 둔 큐의 ID 를 되돌린다
+                recentlyAdded.addAll(addedBeforeThisBuild);
+            }
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private long[] readMaxIds() {
+        long[] maxIds = new long[sources.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            Object maxId = sources.get(i).select("user.selectMaxUserId", null);
+            maxIds[i] = maxId instanceof Number ? ((Number) maxId).longValue() : 0;
+        }
+        return maxIds;
+    }
+
+    private void markFresh(long startNanos) {
+        freshAsOf.accumulateAndGet(startNanos, (a, b) -> a == Long.MIN_VALUE || b - a > 0 ? b : a);
+    }
+
+    /**
+     * USER_ID 존재 가능성
+     * @return false 이면 확실히 없는 ID
+     */
+    public boolean mightContain(String userId) {
+        BloomFilter filter = current;
+        if (!enabled || filter == null || userId == null) {
+            return true;
+        }
+        if (filter.mightContain(userId)) {
+            return true;
+        }
+        if (!isFresh()) {
+            // 동기화가 밀린 동안 다른 인스턴스에서 생성된 ID 일 수 있음
+            staleMisses.increment();
+            return true;
+        }
+        negativeHits.increment();
+        return false;
+    }
+
+    /**
+     * 마지막 동기화(또는 재구축)가 max-staleness 이내인지
+     */
+    public boolean isFresh() {
+        long asOf = freshAsOf.get();
+        return asOf != Long.MIN_VALUE && System.nanoTime() - asOf <= maxStalenessNanos;
+    }
+
+    /**
+     * 생성된 USER_ID 반영
+     */
+    public void onUserCreated(String userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        recentlyAdded.add(userId);
+        add(userId);
+    }
+
+    private void add(String userId) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(userId);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(userId);
+        }
+    }
+
+    /**
+     * 삭제된 USER_ID 반영 (Bloom filter 에서는 지울 수 없으므로 다음 재구축 때 빠짐)
+     */
+    public void onUserDeleted(String userId) {
+        if (enabled && userId != null) {
+            deletedSinceBuild.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.chicken.sample.config;
+
+import com.chicken.sample.db.SchemaMigration;
+import com.chicken.sample.db.ShardedSqlMapBuilder;
+import org.springframework.aot.AotDetector;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fast-start(AOT) 실행 시 빌드 시점에 고정된 @ConditionalOnProperty 결과 검사
+ * AOT 는 빌드(processAot) 때 조건을 평가해 bean 정의를 고정하므로, 실행 시 sharding.enabled /
+ * schema-migration.enabled 를 바꿔도 적용되지 않는다. 값이 빌드 때와 다르면 조용히 무시하지 않고
+ * ApplicationRunner(스키마 마이그레이션 등)가 실행되기 전에 기동을 실패시킨다.
+ */
+@Component
+public class AotConditionCheck implements ApplicationListener<ContextRefreshedEvent> {
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        ApplicationContext context = event.getApplicationContext();
+        Environment environment = context.getEnvironment();
+
+        check(context, environment, "sharding.enabled",
+                "true".equalsIgnoreCase(environment.getProperty("sharding.enabled")),
+                ShardedSqlMapBuilder.class);
+        check(context, environment, "schema-migration.enabled",
+                "true".equalsIgnoreCase(environment.getProperty("schema-migration.enabled", "true")),
+                SchemaMigration.class);
+    }
+
+    private static void check(ApplicationContext context, Environment environment, String property,
+                              boolean expected, Class<?> beanType) {
+        boolean present = context.getBeanNamesForType(beanType, false, false).length > 0;
+        if (present != expected) {
+            throw new IllegalStateException(property + "=" + environment.getProperty(property)
+                    + " differs from the value the AOT build was processed with (" + beanType.getSimpleName()
+                    + (present ? " is" : " is not") + " registered). Rebuild the fast-start jar with the same value, e.g. "
+                    + property.toUpperCase().replace("-", "").replace('.', '_') + "=" + expected
+                    + " ./gradlew -PfastStart fastStartArchive, or start without -Dspring.aot.enabled=true");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.chicken.sample.config;
+
+import com.chicken.sample.db.RequestDeadline;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 deadline 을 시작하고, 만료 시 실행 중인 statement 를 취소하는 인터셉터
+ * 허용 시간은 클라이언트 헤더 값과 엔드포인트 설정 값 중 작은 값을 사용한다.
+ * 클라이언트 연결 끊김으로는 취소하지 않는다. 블로킹 서블릿은 응답을 쓸 때에만 끊김을 알리는데,
+ * 그 시점에는 DB 작업이 이미 끝났으므로 떠난 클라이언트의 작업은 deadline 으로만 제한된다
+ * (클라이언트는 남은 시간을 헤더로 보내 자신이 기다리는 시간 안에서만 작업이 돌게 한다).
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineInterceptor.class);
+    private static final String TIMER_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".timer";
+
+    private final DeadlineProperties properties;
+    private final ScheduledThreadPoolExecutor timer;
+
+    public DeadlineInterceptor(DeadlineProperties properties) {
+        this.properties = properties;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "request-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 정상 완료된 요청의 타이머가 큐에 쌓이지 않도록
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long budgetMs = budgetFor(request);
+        if (budgetMs <= 0) {
+            return true;
+        }
+
+        RequestDeadline deadline = RequestDeadline.start(budgetMs);
+        ScheduledFuture<?> future = timer.schedule(deadline::cancel, budgetMs, TimeUnit.MILLISECONDS);
+        request.setAttribute(TIMER_ATTRIBUTE, future);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object future = request.getAttribute(TIMER_ATTRIBUTE);
+        if (future instanceof ScheduledFuture) {
+            ((ScheduledFuture<?>) future).cancel(false);
+        }
+        RequestDeadline.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private long budgetFor(HttpServletRequest request) {
+        long budgetMs = properties.getDefaultMs();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            Long endpointMs = properties.getEndpoints().get(request.getMethod() + " " + pattern);
+            if (endpointMs != null) {
+                budgetMs = endpointMs;
+            }
+        }
+
+        String header = request.getHeader(properties.getHeader());
+        if (header != null) {
+            try {
+                long clientMs = Long.parseLong(header.trim());
+                if (clientMs > 0 && (budgetMs <= 0 || clientMs < budgetMs)) {
+                    budgetMs = clientMs;
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring invalid {} header: {}", properties.getHeader(), header);
+            }
+        }
+        return budgetMs;
+    }
+}
@@ -0,0 +1,43 @@
+package com.chicken.sample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 요청 deadline 설정 클래스 (deadline.*)
+ */
+@ConfigurationProperties(prefix = "deadline")
+public class DeadlineProperties {
+    // 엔드포인트 설정이 없을 때의 기본 허용 시간(ms), 0 이면 deadline 없음
+    private long defaultMs = 0;
+    // 클라이언트가 남은 시간을 전달하는 헤더
+    private String header = "X-Request-Timeout-Ms";
+    // "METHOD 패턴" -> 허용 시간(ms), 예: "GET /api/users/{userId}"
+    private Map<String, Long> endpoints = new LinkedHashMap<>();
+
+    public long getDefaultMs() {
+        return defaultMs;
+    }
+
+    public void setDefaultMs(long defaultMs) {
+        this.defaultMs = defaultMs;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public Map<String, Long> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Long> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
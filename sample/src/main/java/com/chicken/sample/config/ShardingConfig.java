@@ -0,0 +1,103 @@
+package com.chicken.sample.config;
+
+import com.chicken.sample.db.ShardedSqlMapBuilder;
+import com.chicken.sample.db.SqlMapBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샤딩 설정 클래스
+ * sharding.enabled=true 이면 샤드별 primary/readonly DataSource 와 SqlSessionFactory 를 만들고
+ * ShardedSqlMapBuilder 를 @Primary SqlMapBuilder 로 등록한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardedSqlMapBuilder shardedSqlMapBuilder(ShardingProperties properties) throws Exception {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("sharding.enabled=true but no sharding.shards configured");
+        }
+
+        List<String> names = new ArrayList<>();
+        List<SqlMapBuilder> shards = new ArrayList<>();
+        // 생성 도중 실패하면 이미 만든 풀을 닫기 위해 보관 (정상 종료 시에는 ShardedSqlMapBuilder.close 가 닫음)
+        List<HikariDataSource> created = new ArrayList<>();
+        try {
+            for (int i = 0; i < properties.getShards().size(); i++) {
+                ShardingProperties.Shard shard = properties.getShards().get(i);
+                String name = shard.getName() != null ? shard.getName() : "shard-" + i;
+                names.add(name);
+                HikariDataSource primary = dataSource(shard.getPrimary(), name + "-primary-pool");
+                created.add(primary);
+                HikariDataSource readonly = dataSource(shard.getReadonly(), name + "-readonly-pool");
+                created.add(readonly);
+                shards.add(new SqlMapBuilder(sqlSessionFactory(primary), sqlSessionFactory(readonly)));
+            }
+            logger.info("Sharding enabled with {} shards: {}", names.size(), names);
+
+            ShardedSqlMapBuilder builder = new ShardedSqlMapBuilder(names, shards, properties.getVirtualNodes());
+            if (properties.isInitSchema()) {
+                try {
+                    builder.update("user.createUserTable", null);
+                    builder.update("chickenStock.createChickenStockTable", null);
+                } catch (RuntimeException e) {
+                    builder.close();
+                    throw e;
+                }
+            }
+            return builder;
+        } catch (Exception e) {
+            created.forEach(HikariDataSource::close);
+            throw e;
+        }
+    }
+
+    private HikariDataSource dataSource(ShardingProperties.Pool pool, String poolName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setDriverClassName(pool.getDriverClassName());
+        dataSource.setJdbcUrl(pool.getUrl());
+        dataSource.setUsername(pool.getUsername());
+        dataSource.setPassword(pool.getPassword());
+        dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+        dataSource.setMinimumIdle(pool.getMinimumIdle());
+        dataSource.setConnectionTimeout(pool.getConnectionTimeout());
+        return dataSource;
+    }
+
+    private SqlSessionFactory sqlSessionFactory(HikariDataSource dataSource) throws Exception {
+        // application.yml 의 mybatis configuration 과 같은 설정
+        org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
+        configuration.setCacheEnabled(false);
+        configuration.setLazyLoadingEnabled(false);
+        configuration.setAggressiveLazyLoading(false);
+        configuration.setMultipleResultSetsEnabled(false);
+        configuration.setDefaultExecutorType(ExecutorType.SIMPLE);
+        configuration.setDefaultStatementTimeout(30);
+        configuration.setDefaultFetchSize(100);
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setConfiguration(configuration);
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mapper/*.xml"));
+        return factoryBean.getObject();
+    }
+}
@@ -0,0 +1,151 @@
+package com.chicken.sample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샤딩 설정 클래스 (sharding.*)
+ */
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+    private boolean enabled = false;
+    private int virtualNodes = 160;
+    private boolean initSchema = false;
+    private List<Shard> shards = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public boolean isInitSchema() {
+        return initSchema;
+    }
+
+    public void setInitSchema(boolean initSchema) {
+        this.initSchema = initSchema;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * 샤드 하나 (primary/readonly 쌍)
+     */
+    public static class Shard {
+        private String name;
+        private Pool primary = new Pool();
+        private Pool readonly = new Pool();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Pool getPrimary() {
+            return primary;
+        }
+
+        public void setPrimary(Pool primary) {
+            this.primary = primary;
+        }
+
+        public Pool getReadonly() {
+            return readonly;
+        }
+
+        public void setReadonly(Pool readonly) {
+            this.readonly = readonly;
+        }
+    }
+
+    /**
+     * 샤드 DataSource (HikariCP) 설정
+     */
+    public static class Pool {
+        private String driverClassName;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 0;
+        private long connectionTimeout = 30000;
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(int minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+
+        public long getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(long connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.chicken.sample.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC 설정 클래스
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DeadlineProperties deadlineProperties;
+
+    public WebConfig(DeadlineProperties deadlineProperties) {
+        this.deadlineProperties = deadlineProperties;
+    }
+
+    @Bean
+    public DeadlineInterceptor deadlineInterceptor() {
+        return new DeadlineInterceptor(deadlineProperties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor()).addPathPatterns("/api/**");
+    }
+}
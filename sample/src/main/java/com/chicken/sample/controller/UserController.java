@@ -1,14 +1,22 @@
 package com.chicken.sample.controller;
 
+import com.chicken.sample.cache.Snapshot;
+import com.chicken.sample.cache.SnapshotCache;
+import com.chicken.sample.db.AdmissionRejectedException;
+import com.chicken.sample.db.DeadlineExceededException;
 import com.chicken.sample.entity.User;
 import com.chicken.sample.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,11 +29,16 @@ import java.util.Map;
 public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    private static final String ALL_USERS_SNAPSHOT = "user.selectAllUsers";
+
     private final UserService userService;
+    private final SnapshotCache snapshotCache;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, SnapshotCache snapshotCache) {
         this.userService = userService;
+        this.snapshotCache = snapshotCache;
+        snapshotCache.register(ALL_USERS_SNAPSHOT, "user", this::buildAllUsersResponse);
     }
 
     /**
@@ -50,6 +63,10 @@ public class UserController {
                 response.put("message", "Failed to create user");
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             }
+        } catch (AdmissionRejectedException e) {
+            return overloaded(e, response);
+        } catch (DeadlineExceededException e) {
+            return deadlineExceeded(e, response);
         } catch (Exception e) {
             logger.error("Error creating user: {}", e.getMessage(), e);
             response.put("success", false);
@@ -74,12 +91,19 @@ public class UserController {
                 response.put("success", true);
                 response.put("message", "User retrieved successfully");
                 response.put("data", user);
+                if (user.getVersion() != null) {
+                    return ResponseEntity.ok().eTag(String.valueOf(user.getVersion())).body(response);
+                }
                 return ResponseEntity.ok(response);
             } else {
                 response.put("success", false);
                 response.put("message", "User not found: " + userId);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
+        } catch (AdmissionRejectedException e) {
+            return overloaded(e, response);
+        } catch (DeadlineExceededException e) {
+            return deadlineExceeded(e, response);
         } catch (Exception e) {
             logger.error("Error getting user: {}", e.getMessage(), e);
             response.put("success", false);
@@ -90,21 +114,29 @@ public class UserController {
 
     /**
      * User 목록 조회
+     * 스냅샷 캐시가 켜져 있으면 미리 직렬화된 본문을 그대로 복사해 응답한다.
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllUsers() {
+    public ResponseEntity<Map<String, Object>> getAllUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse servletResponse) {
         logger.info("Received request to get all users");
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<User> users = userService.getAllUsers();
-            
-            response.put("success", true);
-            response.put("message", "Users retrieved successfully");
-            response.put("data", users);
-            response.put("count", users.size());
-            return ResponseEntity.ok(response);
+            if (snapshotCache.isEnabled()) {
+                writeSnapshot(snapshotCache.get(ALL_USERS_SNAPSHOT), acceptEncoding, ifNoneMatch, servletResponse);
+                // 응답을 직접 썼으므로 null 반환
+                return null;
+            }
+
+            return ResponseEntity.ok(buildAllUsersResponse());
+        } catch (AdmissionRejectedException e) {
+            return overloaded(e, response);
+        } catch (DeadlineExceededException e) {
+            return deadlineExceeded(e, response);
         } catch (Exception e) {
             logger.error("Error getting all users: {}", e.getMessage(), e);
             response.put("success", false);
@@ -113,12 +145,52 @@ public class UserController {
         }
     }
 
+    /**
+     * User 목록 응답 본문
+     */
+    private Map<String, Object> buildAllUsersResponse() {
+        List<User> users = userService.getAllUsers();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Users retrieved successfully");
+        response.put("data", users);
+        response.put("count", users.size());
+        return response;
+    }
+
+    /**
+     * 스냅샷 본문을 응답에 그대로 복사 (ETag 일치 시 304, gzip 지원 시 압축 본문)
+     */
+    private void writeSnapshot(Snapshot snapshot, String acceptEncoding, String ifNoneMatch,
+                               HttpServletResponse servletResponse) throws IOException {
+        boolean gzip = snapshot.hasGzip() && acceptEncoding != null && acceptEncoding.contains("gzip");
+        // gzip/identity 본문은 바이트가 다르므로 표현별로 다른 ETag
+        String etag = "\"" + snapshot.getEtag(gzip) + "\"";
+        servletResponse.setHeader(HttpHeaders.ETAG, etag);
+        servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            servletResponse.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        servletResponse.setStatus(HttpStatus.OK.value());
+        servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (gzip) {
+            servletResponse.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        servletResponse.setContentLength(snapshot.getLength(gzip));
+        snapshot.writeTo(servletResponse.getOutputStream(), gzip);
+    }
+
     /**
      * User 수정
+     * If-Match 헤더(GET 응답의 ETag)가 있으면 버전이 일치할 때만 수정하고, 불일치 시 409 반환
      */
     @PutMapping("/{userId}")
     public ResponseEntity<Map<String, Object>> updateUser(
             @PathVariable String userId, 
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody User user) {
         logger.info("Received request to update user: {}", userId);
         
@@ -127,6 +199,10 @@ public class UserController {
         try {
             // userId를 path variable에서 설정
             user.setUserId(userId);
+
+            if (ifMatch != null && !ifMatch.trim().equals("*")) {
+                return updateUserIfMatch(user, ifMatch, response);
+            }
             
             int result = userService.updateUser(user);
             
@@ -140,6 +216,10 @@ public class UserController {
                 response.put("message", "Failed to update user or user not found");
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             }
+        } catch (AdmissionRejectedException e) {
+            return overloaded(e, response);
+        } catch (DeadlineExceededException e) {
+            return deadlineExceeded(e, response);
         } catch (Exception e) {
             logger.error("Error updating user: {}", e.getMessage(), e);
             response.put("success", false);
@@ -148,6 +228,60 @@ public class UserController {
         }
     }
 
+    /**
+     * User 버전 조건부 수정
+     */
+    private ResponseEntity<Map<String, Object>> updateUserIfMatch(
+            User user, String ifMatch, Map<String, Object> response) {
+        long expectedVersion;
+        try {
+            expectedVersion = parseETagVersion(ifMatch);
+        } catch (NumberFormatException e) {
+            response.put("success", false);
+            response.put("message", "Invalid If-Match header: " + ifMatch);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        int result = userService.updateUserIfVersion(user, expectedVersion);
+
+        if (result > 0) {
+            response.put("success", true);
+            response.put("message", "User updated successfully");
+            response.put("data", user);
+            return ResponseEntity.ok().eTag(String.valueOf(user.getVersion())).body(response);
+        }
+
+        User current = userService.getUser(user.getUserId());
+        if (current == null) {
+            response.put("success", false);
+            response.put("message", "Failed to update user or user not found");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        response.put("success", false);
+        response.put("message", "User was modified by another request (expected version "
+                + expectedVersion + ", current version " + current.getVersion() + ")");
+        ResponseEntity.BodyBuilder conflict = ResponseEntity.status(HttpStatus.CONFLICT);
+        if (current.getVersion() != null) {
+            conflict.eTag(String.valueOf(current.getVersion()));
+        }
+        return conflict.body(response);
+    }
+
+    /**
+     * ETag 값("3", W/"3", 3)에서 버전 추출
+     */
+    private long parseETagVersion(String etag) {
+        String value = etag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return Long.parseLong(value);
+    }
+
     /**
      * User 삭제
      */
@@ -169,6 +303,10 @@ public class UserController {
                 response.put("message", "Failed to delete user or user not found");
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
             }
+        } catch (AdmissionRejectedException e) {
+            return overloaded(e, response);
+        } catch (DeadlineExceededException e) {
+            return deadlineExceeded(e, response);
         } catch (Exception e) {
             logger.error("Error deleting user: {}", e.getMessage(), e);
             response.put("success", false);
@@ -191,6 +329,10 @@ public class UserController {
             response.put("success", true);
             response.put("message", "Database connection is healthy");
             return ResponseEntity.ok(response);
+        } catch (AdmissionRejectedException e) {
+            return overloaded(e, response);
+        } catch (DeadlineExceededException e) {
+            return deadlineExceeded(e, response);
         } catch (Exception e) {
             logger.error("Database health check failed: {}", e.getMessage(), e);
             response.put("success", false);
@@ -199,6 +341,28 @@ public class UserController {
         }
     }
 
+    /**
+     * 커넥션 풀 포화로 거절된 요청 응답 (503 + Retry-After)
+     */
+    private ResponseEntity<Map<String, Object>> overloaded(AdmissionRejectedException e, Map<String, Object> response) {
+        logger.warn("Request shed by admission control: {}", e.getMessage());
+        response.put("success", false);
+        response.put("message", "Service is overloaded, please retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * 요청 deadline 안에 DB 작업을 끝내지 못한 요청 응답 (504)
+     */
+    private ResponseEntity<Map<String, Object>> deadlineExceeded(DeadlineExceededException e, Map<String, Object> response) {
+        logger.warn("Request deadline exceeded: {}", e.getMessage());
+        response.put("success", false);
+        response.put("message", "Request timed out");
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
     /**
      * 헬스체크
      */
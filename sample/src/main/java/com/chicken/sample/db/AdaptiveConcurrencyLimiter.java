@@ -0,0 +1,150 @@
+package com.chicken.sample.db;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지연 기반 적응형 동시성 제한 클래스 (gradient 방식)
+ * 기준 RTT 대비 단기 평균 RTT 가 늘어나면 한도를 줄이고, 여유가 있으면 sqrt(limit) 만큼 늘린다.
+ * 기준 RTT 는 빨라지는 쪽은 빠르게, 느려지는 쪽은 수 분에 걸쳐 천천히 따라가는 EWMA 라서
+ * 과부하가 길어져도 그 지연이 곧바로 "정상" 으로 굳지 않는다.
+ * 한도를 넘는 요청은 커넥션 풀에서 기다리지 않고 즉시 거절된다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    // 기준 RTT 가 느려지는 쪽으로 따라가는 시간 상수 (DB 기준 지연 변화는 따라가되 과부하 지연은 흡수하지 않을 만큼 길게)
+    private static final long BASELINE_RTT_DECAY_NANOS = TimeUnit.MINUTES.toNanos(5);
+    // 단기 RTT 평균 가중치 (약 10 샘플)
+    private static final double SHORT_RTT_ALPHA = 2.0 / 11;
+    // 한도 변경 스무딩
+    private static final double SMOOTHING = 0.2;
+    // 기준 지연 대비 허용 비율
+    private static final double TOLERANCE = 2.0;
+    // 포화 시 READ 가 쓸 수 있는 한도 비율 (나머지는 WRITE/HEALTH 용)
+    private static final double READ_SHARE = 0.9;
+    // HEALTH 는 한도를 넘어서도 이만큼은 허용 (풀 크기 기반 한도는 이만큼 남겨 둠)
+    static final int HEALTH_RESERVE = 2;
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double baselineRttNanos;
+    private long lastSampleAt;
+
+    /**
+     * 생성자
+     * @param name 로그/예외에 쓰는 풀 이름
+     * @param initialLimit 초기 한도
+     * @param minLimit 최소 한도
+     * @param maxLimit 최대 한도
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 실행 허가 획득
+     * @param priority 요청 우선순위
+     * @return 시작 시각(nanoTime), release 에 전달
+     * @throws AdmissionRejectedException 한도 초과
+     */
+    public long acquire(AdmissionPriority priority) {
+        int threshold = threshold(priority);
+        int current = inFlight.get();
+        while (current < threshold) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+            current = inFlight.get();
+        }
+        rejected.incrementAndGet();
+        throw new AdmissionRejectedException(
+                name + " pool saturated (in-flight " + current + ", limit " + getLimit() + ", " + priority + ")",
+                RETRY_AFTER_SECONDS);
+    }
+
+    /**
+     * 실행 허가 반납 및 RTT 샘플 반영
+     * @param startNanos acquire 반환값
+     */
+    public void release(long startNanos) {
+        release(startNanos, true);
+    }
+
+    /**
+     * 실행 허가 반납
+     * @param startNanos acquire 반환값
+     * @param sample false 이면 RTT 를 한도 계산에 반영하지 않음 (전체 스캔, 스트리밍 등 소비자가 길이를 정하는 작업)
+     */
+    public void release(long startNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample) {
+            long now = System.nanoTime();
+            onSample(now - startNanos, current, now);
+        }
+    }
+
+    /**
+     * RTT 샘플 반영
+     * @param rttNanos 실행 시간
+     * @param inFlightAtCompletion 완료 시점의 동시 실행 수 (자신 포함)
+     * @param now 완료 시각(nanoTime)
+     */
+    synchronized void onSample(long rttNanos, int inFlightAtCompletion, long now) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+        } else if (rttNanos < baselineRttNanos) {
+            // 빨라지는 쪽은 약 10 샘플 안에 따라감 (샘플 하나로 기준이 내려앉지 않게 min 대신 EWMA)
+            baselineRttNanos += (rttNanos - baselineRttNanos) * SHORT_RTT_ALPHA;
+        } else {
+            // 느려지는 쪽은 샘플 수가 아니라 경과 시간에 비례해 천천히 따라감
+            double alpha = 1 - Math.exp(-(double) Math.max(0, now - lastSampleAt) / BASELINE_RTT_DECAY_NANOS);
+            baselineRttNanos += (rttNanos - baselineRttNanos) * alpha;
+        }
+        lastSampleAt = now;
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos * (1 - SHORT_RTT_ALPHA) + rttNanos * SHORT_RTT_ALPHA;
+
+        // 한도의 절반도 쓰지 않고 지연도 정상이면 한도를 늘리지 않음 (부하가 없는 상태에서 한도가 부풀지 않게)
+        if (inFlightAtCompletion < limit / 2 && shortRttNanos <= baselineRttNanos * TOLERANCE) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    private int threshold(AdmissionPriority priority) {
+        int current = getLimit();
+        switch (priority) {
+            case HEALTH:
+                return current + HEALTH_RESERVE;
+            case WRITE:
+                return current;
+            default:
+                return Math.max(1, (int) (current * READ_SHARE));
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,10 @@
+package com.chicken.sample.db;
+
+/**
+ * 어드미션 컨트롤 우선순위 (포화 시 READ 부터 거절, HEALTH 가 가장 마지막)
+ */
+public enum AdmissionPriority {
+    READ,
+    WRITE,
+    HEALTH
+}
@@ -0,0 +1,17 @@
+package com.chicken.sample.db;
+
+/**
+ * 커넥션 풀 포화로 요청을 즉시 거절했을 때 발생하는 예외 (503 + Retry-After)
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
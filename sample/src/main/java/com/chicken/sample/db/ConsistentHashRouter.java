@@ -0,0 +1,69 @@
+package com.chicken.sample.db;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent hashing 라우터 클래스
+ * 샤드마다 가상 노드를 링에 배치하므로 샤드를 추가/제거해도 약 1/N 의 키만 이동한다.
+ */
+public class ConsistentHashRouter {
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+    private final int shardCount;
+
+    /**
+     * 생성자
+     * @param shardNames 샤드 이름 목록 (순서가 샤드 인덱스, 이름이 링 위치를 결정)
+     * @param virtualNodes 샤드당 가상 노드 수
+     */
+    public ConsistentHashRouter(List<String> shardNames, int virtualNodes) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        this.shardCount = shardNames.size();
+        for (int i = 0; i < shardNames.size(); i++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.put(hash(shardNames.get(i) + "#" + v), i);
+            }
+        }
+    }
+
+    /**
+     * 샤드 키를 샤드 인덱스로 변환
+     * @param shardKey 샤드 키 (userId, stockCode 등)
+     * @return 샤드 인덱스
+     */
+    public int route(String shardKey) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(shardKey));
+        if (entry == null) {
+            entry = ring.firstEntry();
+        }
+        return entry.getValue();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 64bit 해시 (FNV-1a + murmur3 fmix64)
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
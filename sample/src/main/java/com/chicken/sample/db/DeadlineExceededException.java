@@ -0,0 +1,15 @@
+package com.chicken.sample.db;
+
+/**
+ * 요청 deadline 이 지나 DB 작업을 중단했을 때 발생하는 예외 (504)
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package com.chicken.sample.db;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * 요청 deadline 을 statement queryTimeout 으로 적용하는 MyBatis 인터셉터
+ * default-statement-timeout 보다 남은 시간이 짧으면 남은 시간(초 단위 올림)으로 줄이고,
+ * 만료 시 취소할 수 있도록 statement 를 deadline 에 등록한다. query/update 가 끝나면 등록을 해제한다.
+ * SqlMapBuilder 가 생성될 때 primary/readonly 팩토리에 한 번씩 등록한다.
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}),
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class DeadlineStatementInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return invocation.proceed();
+        }
+        if (!"prepare".equals(invocation.getMethod().getName())) {
+            // 실행이 끝난 statement 는 더 취소할 일이 없음 (batch/cursor 는 닫힐 때까지 등록 유지)
+            try {
+                return invocation.proceed();
+            } finally {
+                deadline.unregister((Statement) invocation.getArgs()[0]);
+            }
+        }
+
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before executing statement");
+        }
+
+        Statement statement = (Statement) invocation.proceed();
+        int seconds = (int) Math.max(1, (remaining + 999) / 1000);
+        int current = statement.getQueryTimeout();
+        if (current == 0 || seconds < current) {
+            statement.setQueryTimeout(seconds);
+        }
+        deadline.register(statement);
+        return statement;
+    }
+}
@@ -0,0 +1,145 @@
+package com.chicken.sample.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 요청 단위 deadline (현재 스레드에 바인딩)
+ * SqlMapBuilder 는 남은 시간만큼만 커넥션을 기다리고, 실행하는 statement 의 queryTimeout 을
+ * 남은 시간으로 줄이며, deadline 이 지나면 cancel() 로 실행 중인 statement 를 취소한다.
+ */
+public final class RequestDeadline {
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadline.class);
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long budgetMs;
+    private final long deadlineNanos;
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private RequestDeadline(long budgetMs) {
+        this.budgetMs = budgetMs;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+    }
+
+    /**
+     * 현재 스레드에 deadline 시작
+     * @param budgetMs 허용 시간(ms)
+     */
+    public static RequestDeadline start(long budgetMs) {
+        RequestDeadline deadline = new RequestDeadline(budgetMs);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * 현재 스레드의 deadline, 없으면 null
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드의 deadline 해제
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 현재 스레드의 deadline 을 다른 스레드에서 실행할 작업에 전달
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            RequestDeadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+
+    /**
+     * 남은 시간(ms), 지났으면 0 이하
+     */
+    public long remainingMillis() {
+        if (cancelled) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return cancelled || deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 실행 중인 statement 등록 (이미 취소됐으면 바로 취소)
+     */
+    void register(Statement statement) {
+        // 실행 후 바로 해제하지 못한 statement(batch, cursor) 중 이미 닫힌 것 정리
+        statements.removeIf(RequestDeadline::isClosed);
+        statements.add(statement);
+        if (cancelled) {
+            cancelQuietly(statement);
+        }
+    }
+
+    /**
+     * 실행이 끝난 statement 등록 해제
+     */
+    void unregister(Statement statement) {
+        statements.remove(statement);
+    }
+
+    /**
+     * deadline 만료 처리: 등록된 statement 모두 취소
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Statement statement : statements) {
+            cancelQuietly(statement);
+        }
+    }
+
+    private static boolean isClosed(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            if (!statement.isClosed()) {
+                statement.cancel();
+                logger.info("Cancelled in-flight statement after request deadline");
+            }
+        } catch (Exception e) {
+            // 이미 끝난 statement
+            logger.debug("Could not cancel statement: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.chicken.sample.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기동 시 스키마 마이그레이션 클래스
+ * mapper 의 select 가 읽는 컬럼(VERSION)이 기존 테이블에 없으면 primary 에 추가한다.
+ * 컬럼이 이미 있거나 테이블이 아직 없으면(create 문에 포함) 아무것도 하지 않으므로 여러 번 실행해도 안전하다.
+ * 다른 ApplicationRunner(필터 구축, 워밍업)보다 먼저 실행되고, 실패하면 기동을 중단한다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "schema-migration", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigration implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigration.class);
+
+    private static final List<AddColumn> MIGRATIONS = List.of(
+            new AddColumn("USERS", "VERSION", "user.selectUserColumns", "user.addUserVersionColumn"),
+            new AddColumn("CHICKEN_STOCK", "VERSION", "chickenStock.selectChickenStockColumns", "chickenStock.addChickenStockVersionColumn"));
+
+    private final SqlMapBuilder sqlMapBuilder;
+
+    @Autowired
+    public SchemaMigration(SqlMapBuilder sqlMapBuilder) {
+        this.sqlMapBuilder = sqlMapBuilder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // 샤딩 시 각 샤드의 primary 에 개별 적용
+        List<SqlMapBuilder> targets = sqlMapBuilder instanceof ShardedSqlMapBuilder
+                ? ((ShardedSqlMapBuilder) sqlMapBuilder).getShards()
+                : List.of(sqlMapBuilder);
+        for (SqlMapBuilder target : targets) {
+            for (AddColumn migration : MIGRATIONS) {
+                migrate(target, migration);
+            }
+        }
+    }
+
+    private void migrate(SqlMapBuilder target, AddColumn migration) {
+        List<String> columns = primaryColumns(target, migration);
+        if (columns.isEmpty() || columns.contains(migration.column)) {
+            return;
+        }
+
+        logger.info("Adding column {}.{} ({})", migration.table, migration.column, migration.alterStatement);
+        try {
+            target.inTransaction(session -> session.update(migration.alterStatement));
+        } catch (RuntimeException e) {
+            // 동시에 기동한 다른 인스턴스가 먼저 추가한 경우
+            if (primaryColumns(target, migration).contains(migration.column)) {
+                logger.info("Column {}.{} was added concurrently", migration.table, migration.column);
+                return;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * primary 기준 컬럼 목록 (readonly 는 복제 지연으로 오래된 스키마를 볼 수 있음)
+     */
+    private static List<String> primaryColumns(SqlMapBuilder target, AddColumn migration) {
+        return target.inTransaction(session -> session.<String>selectList(migration.columnsStatement));
+    }
+
+    private static final class AddColumn {
+        private final String table;
+        private final String column;
+        private final String columnsStatement;
+        private final String alterStatement;
+
+        private AddColumn(String table, String column, String columnsStatement, String alterStatement) {
+            this.table = table;
+            this.column = column;
+            this.columnsStatement = columnsStatement;
+            this.alterStatement = alterStatement;
+        }
+    }
+}
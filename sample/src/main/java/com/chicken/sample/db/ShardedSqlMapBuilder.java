@@ -0,0 +1,594 @@
+package com.chicken.sample.db;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.sql.DataSource;
+
+/**
+ * 샤딩 SQL 맵 빌더 클래스
+ * 파라미터의 샤드 키(userId, stockCode)를 consistent hashing 으로 라우팅해 샤드별 SqlMapBuilder
+ * (primary/readonly 쌍)에 위임한다. 샤드 키가 없는 목록 조회는 모든 샤드에 scatter 한 뒤
+ * 정렬 기준(기본 CREATED_AT 내림차순)으로 streaming merge 한다.
+ */
+public class ShardedSqlMapBuilder extends SqlMapBuilder {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedSqlMapBuilder.class);
+
+    /** 라우팅에 사용하는 파라미터 키 (앞에서부터 우선) */
+    private static final List<String> SHARD_KEYS = List.of("userId", "stockCode");
+
+    private static final Comparator<Map<String, Object>> CREATED_AT_DESC = descending("CREATED_AT");
+
+    private final List<SqlMapBuilder> shards;
+    private final ConsistentHashRouter router;
+    private final ExecutorService scatterExecutor;
+    private final Map<String, Comparator<Map<String, Object>>> mergeOrders = new ConcurrentHashMap<>();
+
+    /**
+     * 생성자
+     * @param shardNames 샤드 이름 목록 (링 위치 결정)
+     * @param shards 샤드별 SqlMapBuilder (shardNames 와 같은 순서)
+     * @param virtualNodes 샤드당 가상 노드 수
+     */
+    public ShardedSqlMapBuilder(List<String> shardNames, List<SqlMapBuilder> shards, int virtualNodes) {
+        super(shards.get(0).getPrimarySqlSessionFactory(), shards.get(0).getReadonlySqlSessionFactory());
+        if (shardNames.size() != shards.size()) {
+            throw new IllegalArgumentException("shardNames and shards must have the same size");
+        }
+        this.shards = List.copyOf(shards);
+        this.router = new ConsistentHashRouter(shardNames, virtualNodes);
+
+        // 요청 간 공유하는 고정 크기 풀이면 인스턴스 전체에서 샤드당 한 쿼리씩만 돌게 되므로 필요한 만큼 늘어나는 풀 사용
+        // (동시 실행 수는 샤드별 readonly 동시성 제한이 막음)
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scatterExecutor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "shard-scatter-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // CREATED_AT 이 아닌 컬럼으로 정렬하는 목록 statement
+        mergeOrders.put("chickenStock.selectLowStockChickenStocks", ascending("QUANTITY"));
+    }
+
+    /**
+     * 목록 statement 의 merge 정렬 기준 등록 (mapper 의 ORDER BY 와 같아야 함)
+     */
+    public void setMergeOrder(String statement, Comparator<Map<String, Object>> comparator) {
+        mergeOrders.put(statement, comparator);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * 샤드별 SqlMapBuilder (샤드 단위 작업용, 예: 스키마 마이그레이션)
+     */
+    public List<SqlMapBuilder> getShards() {
+        return shards;
+    }
+
+    /**
+     * 샤드 키에 해당하는 샤드
+     */
+    public SqlMapBuilder shardFor(String shardKey) {
+        return shards.get(router.route(shardKey));
+    }
+
+    @Override
+    public int insert(String statement, Map<String, String> parameter) {
+        String shardKey = shardKeyOf(parameter);
+        if (shardKey == null) {
+            throw new IllegalArgumentException("Shard key (" + SHARD_KEYS + ") is required for insert: " + statement);
+        }
+        return shardFor(shardKey).insert(statement, parameter);
+    }
+
+    @Override
+    public int update(String statement, Map<String, String> parameter) {
+        String shardKey = shardKeyOf(parameter);
+        if (shardKey != null) {
+            return shardFor(shardKey).update(statement, parameter);
+        }
+        // 샤드 키가 없는 수정(DDL 포함)은 모든 샤드에 적용
+        int total = 0;
+        for (SqlMapBuilder shard : shards) {
+            total += shard.update(statement, parameter);
+        }
+        return total;
+    }
+
+    @Override
+    public int delete(String statement, Map<String, String> parameter) {
+        String shardKey = shardKeyOf(parameter);
+        if (shardKey != null) {
+            return shardFor(shardKey).delete(statement, parameter);
+        }
+        int total = 0;
+        for (SqlMapBuilder shard : shards) {
+            total += shard.delete(statement, parameter);
+        }
+        return total;
+    }
+
+    @Override
+    public Object select(String statement, Object parameter) {
+        String shardKey = shardKeyOf(parameter);
+        if (shardKey != null) {
+            return shardFor(shardKey).select(statement, parameter);
+        }
+        // 샤드 키 없이 단건 조회 (예: 이메일) - 첫 번째로 찾은 결과
+        List<CompletableFuture<Object>> futures = scatter(shard -> shard.select(statement, parameter));
+        Object found = null;
+        for (CompletableFuture<Object> future : futures) {
+            Object result = join(future);
+            if (found == null && result != null) {
+                found = result;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Object selectList(String statement, Object parameter) {
+        String shardKey = shardKeyOf(parameter);
+        if (shardKey != null) {
+            return shardFor(shardKey).selectList(statement, parameter);
+        }
+        try (Stream<Map<String, Object>> rows = selectStream(statement, parameter)) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 샤드 키가 있으면 해당 샤드만, 없으면 모든 샤드를 순서대로 스트리밍 조회 (정렬 merge 없음)
+     */
+    @Override
+    public void selectEach(String statement, Object parameter, ResultHandler<?> handler) {
+        String shardKey = shardKeyOf(parameter);
+        if (shardKey != null) {
+            shardFor(shardKey).selectEach(statement, parameter, handler);
+            return;
+        }
+        for (SqlMapBuilder shard : shards) {
+            shard.selectEach(statement, parameter, handler);
+        }
+    }
+
+    /**
+     * 모든 샤드의 readonly DB 에 동시에 cursor 를 열고 정렬 기준으로 merge 한 Stream
+     * 반환된 Stream 은 반드시 close 해야 세션이 반납된다 (try-with-resources 사용).
+     * @param statement SQL 문장 (resultType="map")
+     * @param parameter 파라미터
+     * @return 정렬된 결과 Stream
+     */
+    public Stream<Map<String, Object>> selectStream(String statement, Object parameter) {
+        List<CompletableFuture<ShardCursor>> futures = scatter(shard -> ShardCursor.open(shard, statement, parameter));
+
+        List<ShardCursor> cursors = new ArrayList<>();
+        Exception failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<ShardCursor> future = futures.get(i);
+            if (failure instanceof DeadlineExceededException) {
+                // 더 기다릴 시간이 없음: 나중에 열리는 cursor 는 열리는 대로 닫음
+                future.thenAccept(ShardCursor::close);
+                continue;
+            }
+            try {
+                cursors.add(await(future));
+            } catch (DeadlineExceededException e) {
+                future.thenAccept(ShardCursor::close);
+                failure = e;
+            } catch (CompletionException e) {
+                Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                logger.error("Error executing selectStream on shard {}: {}", i, cause.getMessage(), cause);
+                if (isFailoverRelatedError(cause)) {
+                    logger.warn("Failover related error detected during selectStream, attempting recovery...");
+                    shards.get(i).handleFailoverRecovery();
+                }
+                failure = cause;
+            }
+        }
+        if (failure != null) {
+            cursors.forEach(ShardCursor::close);
+            if (failure instanceof AdmissionRejectedException) {
+                throw (AdmissionRejectedException) failure;
+            }
+            if (failure instanceof DeadlineExceededException) {
+                throw (DeadlineExceededException) failure;
+            }
+            handleSqlException(failure);
+        }
+
+        List<Iterator<Map<String, Object>>> sources = new ArrayList<>();
+        for (ShardCursor cursor : cursors) {
+            sources.add(cursor.cursor.iterator());
+        }
+        Iterator<Map<String, Object>> merged =
+                new SortedMergeIterator<>(sources, mergeOrders.getOrDefault(statement, CREATED_AT_DESC));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> cursors.forEach(ShardCursor::close));
+    }
+
+    /**
+     * 샤드 키를 지정하지 않은 unit of work
+     * 첫 statement 파라미터의 샤드 키로 샤드를 정하고, 이후 statement 는 모두 같은 샤드의 같은 세션에서 실행한다.
+     * 다른 샤드로 라우팅되는 statement 가 나오면 분산 트랜잭션이 필요하므로 전체를 rollback 하고 실패시킨다.
+     */
+    @Override
+    public <T> T inTransaction(boolean batch, SqlSessionCallback<T> callback) {
+        ShardRoutedSession routed = new ShardRoutedSession(batch);
+        try {
+            T result;
+            try {
+                result = callback.doInSession(routed.proxy);
+                routed.commit();
+            } catch (Exception e) {
+                routed.rollback(e);
+                throw e;
+            }
+            return result;
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
+            logger.error("Error executing sharded unit of work: {}", e.getMessage(), e);
+
+            // Failover 관련 에러 체크
+            if (routed.shard != null && isFailoverRelatedError(e)) {
+                logger.warn("Failover related error detected during sharded unit of work, attempting recovery...");
+                routed.shard.handleFailoverRecovery();
+            }
+
+            handleSqlException(e);
+            return null;
+        } finally {
+            routed.close();
+        }
+    }
+
+    /**
+     * 샤드 키에 해당하는 샤드의 primary 세션에서 unit of work 실행
+     */
+    public <T> T inTransaction(String shardKey, boolean batch, SqlSessionCallback<T> callback) {
+        return shardFor(shardKey).inTransaction(batch, callback);
+    }
+
+    /**
+     * 쓰기는 샤드별 SqlMapBuilder 에서 commit 되므로 모든 샤드에 등록
+     */
+    @Override
+    public void addWriteListener(Consumer<String> listener) {
+        shards.forEach(shard -> shard.addWriteListener(listener));
+    }
+
+    @Override
+    public long getSessionCount() {
+        return shards.stream().mapToLong(SqlMapBuilder::getSessionCount).sum();
+    }
+
+    @Override
+    public long getCommitCount() {
+        return shards.stream().mapToLong(SqlMapBuilder::getCommitCount).sum();
+    }
+
+    @Override
+    public void handleFailoverRecovery() {
+        shards.forEach(SqlMapBuilder::handleFailoverRecovery);
+    }
+
+    @Override
+    public void reConnectionCheck() {
+        shards.forEach(SqlMapBuilder::reConnectionCheck);
+    }
+
+    /**
+     * scatter 스레드 풀과 샤드별 커넥션 풀 종료
+     * 샤드 DataSource 는 Spring bean 이 아니므로(ShardingConfig 에서 직접 생성) 여기서 닫는다.
+     */
+    public void close() {
+        scatterExecutor.shutdownNow();
+        Set<DataSource> closed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SqlMapBuilder shard : shards) {
+            closeDataSource(shard.getPrimarySqlSessionFactory(), closed);
+            closeDataSource(shard.getReadonlySqlSessionFactory(), closed);
+        }
+    }
+
+    private static void closeDataSource(SqlSessionFactory sessionFactory, Set<DataSource> closed) {
+        DataSource dataSource = sessionFactory.getConfiguration().getEnvironment().getDataSource();
+        if (!closed.add(dataSource) || !(dataSource instanceof AutoCloseable)) {
+            return;
+        }
+        try {
+            ((AutoCloseable) dataSource).close();
+        } catch (Exception e) {
+            logger.warn("Could not close shard data source: {}", e.getMessage());
+        }
+    }
+
+    private static String shardKeyOf(Object parameter) {
+        if (parameter instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) parameter;
+            for (String key : SHARD_KEYS) {
+                Object value = map.get(key);
+                if (value != null) {
+                    return value.toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 모든 샤드에 작업 분배 (마지막 샤드는 호출 스레드에서 직접 실행)
+     * 다른 스레드에서 실행하는 작업에는 요청 deadline 과 primary 읽기 설정을 전달한다.
+     */
+    private <T> List<CompletableFuture<T>> scatter(Function<SqlMapBuilder, T> task) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (int i = 0; i < shards.size() - 1; i++) {
+            SqlMapBuilder shard = shards.get(i);
+            futures.add(CompletableFuture.supplyAsync(
+                    RequestDeadline.propagate(propagateReadPreference(() -> task.apply(shard))), scatterExecutor));
+        }
+        SqlMapBuilder last = shards.get(shards.size() - 1);
+        try {
+            futures.add(CompletableFuture.completedFuture(task.apply(last)));
+        } catch (RuntimeException e) {
+            futures.add(CompletableFuture.failedFuture(e));
+        }
+        return futures;
+    }
+
+    /**
+     * 샤드 작업 결과 대기 (요청 deadline 이 있으면 남은 시간만큼만)
+     * @throws CompletionException 작업 실패 (원인 예외를 감쌈)
+     * @throws DeadlineExceededException 남은 시간 안에 끝나지 않음
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return future.join();
+        }
+        long remaining = deadline.remainingMillis();
+        try {
+            if (remaining <= 0 && !future.isDone()) {
+                throw new TimeoutException();
+            }
+            return future.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline exceeded while waiting for shard results");
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return await(future);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Map<String, Object>> ascending(String column) {
+        return (a, b) -> {
+            Comparable x = (Comparable) a.get(column);
+            Comparable y = (Comparable) b.get(column);
+            if (x == null) {
+                return y == null ? 0 : 1;
+            }
+            if (y == null) {
+                return -1;
+            }
+            return x.compareTo(y);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Map<String, Object>> descending(String column) {
+        return (a, b) -> {
+            Comparable x = (Comparable) a.get(column);
+            Comparable y = (Comparable) b.get(column);
+            if (x == null) {
+                return y == null ? 0 : 1;
+            }
+            if (y == null) {
+                return -1;
+            }
+            return y.compareTo(x);
+        };
+    }
+
+    /**
+     * 첫 샤드 키가 나올 때 해당 샤드의 unit of work 를 여는 SqlSession 프록시
+     */
+    private final class ShardRoutedSession implements InvocationHandler {
+        private final boolean batch;
+        private final SqlSession proxy;
+        private SqlMapBuilder shard;
+        private long permit;
+        private UnitOfWork work;
+
+        private ShardRoutedSession(boolean batch) {
+            this.batch = batch;
+            this.proxy = (SqlSession) Proxy.newProxyInstance(
+                    SqlSession.class.getClassLoader(), new Class<?>[]{SqlSession.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            if ("getConfiguration".equals(method.getName())) {
+                return getPrimarySqlSessionFactory().getConfiguration();
+            }
+            if ("getMapper".equals(method.getName())) {
+                return getPrimarySqlSessionFactory().getConfiguration().getMapper((Class<?>) args[0], this.proxy);
+            }
+            // 세션 반납은 inTransaction 이 처리
+            if ("close".equals(method.getName())) {
+                return null;
+            }
+
+            if (args != null && args.length >= 2 && args[0] instanceof String) {
+                String shardKey = shardKeyOf(args[1]);
+                if (shardKey != null) {
+                    route((String) args[0], shardKey);
+                }
+            }
+            if (work == null) {
+                if ("flushStatements".equals(method.getName())) {
+                    return List.of();
+                }
+                // commit/rollback/clearCache: 아직 실행한 statement 가 없으므로 할 일 없음
+                boolean statementCall = args != null && args.length > 0 && args[0] instanceof String;
+                if (!statementCall && method.getReturnType() == void.class) {
+                    return null;
+                }
+                throw new IllegalStateException("First statement of a sharded unit of work must carry a shard key "
+                        + SHARD_KEYS + ": " + (args != null && args.length > 0 ? args[0] : method.getName()));
+            }
+
+            try {
+                return method.invoke(work.getSession(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void route(String statement, String shardKey) throws SQLException {
+            SqlMapBuilder target = shardFor(shardKey);
+            if (work != null) {
+                if (target != shard) {
+                    throw new IllegalStateException("Sharded unit of work cannot span shards: " + statement
+                            + " routes to a different shard than the first statement");
+                }
+                return;
+            }
+            long acquired = target.getPrimaryLimiter().acquire(AdmissionPriority.WRITE);
+            try {
+                work = target.beginUnitOfWork(batch);
+            } catch (SQLException | RuntimeException e) {
+                target.getPrimaryLimiter().release(acquired);
+                throw e;
+            }
+            shard = target;
+            permit = acquired;
+        }
+
+        private void commit() {
+            if (work != null) {
+                work.commit();
+            }
+        }
+
+        private void rollback(Exception cause) {
+            if (work != null) {
+                work.rollback(cause);
+            }
+        }
+
+        private void close() {
+            if (work != null) {
+                try {
+                    work.close();
+                } finally {
+                    shard.getPrimaryLimiter().release(permit);
+                }
+            }
+        }
+    }
+
+    /**
+     * 샤드 하나의 읽기 세션(기본 readonly)과 cursor
+     */
+    private static final class ShardCursor {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long permit;
+        private final SqlSession session;
+        private final Cursor<Map<String, Object>> cursor;
+
+        private ShardCursor(AdaptiveConcurrencyLimiter limiter, long permit, SqlSession session, Cursor<Map<String, Object>> cursor) {
+            this.limiter = limiter;
+            this.permit = permit;
+            this.session = session;
+            this.cursor = cursor;
+        }
+
+        private static ShardCursor open(SqlMapBuilder shard, String statement, Object parameter) {
+            AdaptiveConcurrencyLimiter limiter = shard.readLimiter();
+            long permit = limiter.acquire(AdmissionPriority.READ);
+            SqlSession session = null;
+            try {
+                session = shard.openReadSession();
+                return new ShardCursor(limiter, permit, session, session.selectCursor(statement, parameter));
+            } catch (SQLException | RuntimeException e) {
+                if (session != null) {
+                    session.close();
+                }
+                limiter.release(permit, false);
+                if (e instanceof RuntimeException) {
+                    throw (RuntimeException) e;
+                }
+                // supplyAsync 는 CompletionException 을 다시 감싸지 않으므로 호출자가 원인을 그대로 받는다
+                throw new CompletionException(e);
+            }
+        }
+
+        private void close() {
+            try {
+                cursor.close();
+            } catch (Exception e) {
+                logger.warn("Could not close shard cursor: {}", e.getMessage());
+            } finally {
+                session.close();
+                // 스트림 소비 시간은 DB 지연이 아니므로 RTT 샘플에서 제외
+                limiter.release(permit, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.chicken.sample.db;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * 정렬된 여러 Iterator 를 하나의 정렬된 Iterator 로 합치는 k-way merge 클래스
+ * 각 소스에서 한 건씩만 미리 읽으므로 전체 결과를 메모리에 올리지 않는다.
+ * @param <T> 원소 타입
+ */
+public class SortedMergeIterator<T> implements Iterator<T> {
+    private final PriorityQueue<Head<T>> heads;
+
+    /**
+     * 생성자
+     * @param sources 각각 comparator 순서로 정렬된 소스
+     * @param comparator 정렬 기준 (같으면 소스 순서 유지)
+     */
+    public SortedMergeIterator(List<? extends Iterator<T>> sources, Comparator<? super T> comparator) {
+        Comparator<Head<T>> byValue = (a, b) -> comparator.compare(a.value, b.value);
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), byValue.thenComparingInt(h -> h.source));
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<T> source = sources.get(i);
+            if (source.hasNext()) {
+                heads.add(new Head<>(source.next(), source, i));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        T value = head.value;
+        if (head.iterator.hasNext()) {
+            heads.add(new Head<>(head.iterator.next(), head.iterator, head.source));
+        }
+        return value;
+    }
+
+    private static final class Head<T> {
+        private final T value;
+        private final Iterator<T> iterator;
+        private final int source;
+
+        private Head(T value, Iterator<T> iterator, int source) {
+            this.value = value;
+            this.iterator = iterator;
+            this.source = source;
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.chicken.sample.db;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -11,12 +19,21 @@ import com.ngcas.pvl.common.GeneralException;
 
 import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
 
 /**
  * SQL 맵 빌더 클래스
@@ -26,6 +43,23 @@ public class SqlMapBuilder {
     
     private final SqlSessionFactory primarySqlSessionFactory;
     private final SqlSessionFactory readonlySqlSessionFactory;
+
+    // 풀별 적응형 동시성 제한 (포화 시 커넥션 대기 대신 즉시 거절)
+    private final AdaptiveConcurrencyLimiter primaryLimiter;
+    private final AdaptiveConcurrencyLimiter readonlyLimiter;
+
+    // commit 된 쓰기의 namespace 를 받는 리스너 (스냅샷 캐시 무효화 등)
+    private final List<Consumer<String>> writeListeners = new CopyOnWriteArrayList<>();
+
+    // 현재 스레드의 읽기를 primary 로 보냄 (쓰기 직후 재생성처럼 복제 지연을 허용할 수 없는 읽기)
+    private static final ThreadLocal<Boolean> READ_FROM_PRIMARY = new ThreadLocal<>();
+
+    // 요청 deadline 이 없는 연결 확인의 커넥션 대기/실행 제한
+    private static final long HEALTH_CHECK_TIMEOUT_MS = 2000;
+
+    // 세션(커넥션 체크아웃) 및 commit 횟수 (unit of work 효과 측정용)
+    private final AtomicLong sessionCount = new AtomicLong();
+    private final AtomicLong commitCount = new AtomicLong();
     
     /**
      * 생성자
@@ -37,6 +71,44 @@ public class SqlMapBuilder {
             @Qualifier("readonlySqlSessionFactory") SqlSessionFactory readonlySqlSessionFactory) {
         this.primarySqlSessionFactory = primarySqlSessionFactory;
         this.readonlySqlSessionFactory = readonlySqlSessionFactory;
+        this.primaryLimiter = createLimiter(primarySqlSessionFactory, "PRIMARY");
+        this.readonlyLimiter = createLimiter(readonlySqlSessionFactory, "READONLY");
+        // primary/readonly 팩토리는 MyBatis 자동 설정이 만든 것이 아니라 Interceptor 빈이 적용되지 않으므로 직접 등록
+        registerDeadlineInterceptor(primarySqlSessionFactory);
+        registerDeadlineInterceptor(readonlySqlSessionFactory);
+    }
+
+    /**
+     * 요청 deadline 을 queryTimeout 으로 적용하는 인터셉터 등록 (팩토리당 한 번, 이미 있으면 그대로 둠)
+     */
+    private static void registerDeadlineInterceptor(SqlSessionFactory sessionFactory) {
+        Configuration configuration = sessionFactory.getConfiguration();
+        synchronized (configuration) {
+            boolean registered = configuration.getInterceptors().stream()
+                    .anyMatch(interceptor -> interceptor instanceof DeadlineStatementInterceptor);
+            if (!registered) {
+                configuration.addInterceptor(new DeadlineStatementInterceptor());
+            }
+        }
+    }
+
+    /**
+     * 풀 크기를 기준으로 동시성 제한 생성 (초기/최대 한도 = 풀 크기 - HEALTH 예비분)
+     * 한도가 풀 크기를 넘으면 넘친 요청이 503 대신 HikariCP 안에서 connection-timeout 까지 기다리게 되므로
+     * 최대 한도를 풀 크기 안으로 두고, HEALTH 의 초과 허용분도 실제 커넥션을 얻을 수 있게 남겨 둔다.
+     */
+    private static AdaptiveConcurrencyLimiter createLimiter(SqlSessionFactory sessionFactory, String poolName) {
+        int poolSize = 10;
+        try {
+            DataSource dataSource = sessionFactory.getConfiguration().getEnvironment().getDataSource();
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (Exception e) {
+            logger.warn("Could not read {} pool size, using default limit: {}", poolName, e.getMessage());
+        }
+        int maxLimit = Math.max(1, poolSize - AdaptiveConcurrencyLimiter.HEALTH_RESERVE);
+        return new AdaptiveConcurrencyLimiter(poolName, maxLimit, 1, maxLimit);
     }
 
     // 추가: primarySqlSessionFactory getter 메서드
@@ -48,6 +120,230 @@ public class SqlMapBuilder {
     public SqlSessionFactory getReadonlySqlSessionFactory() {
         return readonlySqlSessionFactory;
     }
+
+    public AdaptiveConcurrencyLimiter getPrimaryLimiter() {
+        return primaryLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getReadonlyLimiter() {
+        return readonlyLimiter;
+    }
+
+    /**
+     * 단일 statement 용 SQL 세션 열기
+     * 요청 deadline 이 없으면 기존처럼 팩토리에서 열고, 있으면 남은 시간만큼만 커넥션을 기다린다.
+     * @param sessionFactory SQL 세션 팩토리
+     * @param write 쓰기 여부 (deadline 경로에서 auto-commit 을 끄고 명시적으로 commit)
+     */
+    private SqlSession openSession(SqlSessionFactory sessionFactory, boolean write) throws SQLException {
+        if (RequestDeadline.current() == null) {
+            return sessionFactory.openSession();
+        }
+        return openOnConnection(sessionFactory, write);
+    }
+
+    /**
+     * 읽기 세션 열기 (호출자가 close 책임, 예: 샤드 cursor 스트림)
+     */
+    SqlSession openReadSession() throws SQLException {
+        return openSession(readSessionFactory(), false);
+    }
+
+    /**
+     * 작업 안의 select/selectList/selectEach 를 readonly 대신 primary 에서 실행
+     * @param task 작업
+     * @return 작업 결과
+     */
+    public static <T> T readFromPrimary(Supplier<T> task) {
+        Boolean previous = READ_FROM_PRIMARY.get();
+        READ_FROM_PRIMARY.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                READ_FROM_PRIMARY.remove();
+            } else {
+                READ_FROM_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 현재 스레드의 primary 읽기 설정을 다른 스레드에서 실행할 작업에 전달
+     */
+    static <T> Supplier<T> propagateReadPreference(Supplier<T> task) {
+        if (!Boolean.TRUE.equals(READ_FROM_PRIMARY.get())) {
+            return task;
+        }
+        return () -> readFromPrimary(task);
+    }
+
+    private SqlSessionFactory readSessionFactory() {
+        return Boolean.TRUE.equals(READ_FROM_PRIMARY.get()) ? primarySqlSessionFactory : readonlySqlSessionFactory;
+    }
+
+    /**
+     * 읽기 세션 팩토리에 해당하는 동시성 제한
+     */
+    AdaptiveConcurrencyLimiter readLimiter() {
+        return Boolean.TRUE.equals(READ_FROM_PRIMARY.get()) ? primaryLimiter : readonlyLimiter;
+    }
+
+    /**
+     * unit of work 용 SQL 세션 열기
+     * mybatis-spring 의 SpringManagedTransactionFactory 는 openSession(executorType, false) 의 autoCommit 인자를
+     * 무시하고 커넥션 설정(HikariCP 기본 auto-commit=true)을 그대로 쓰므로, 팩토리로 열면 statement 마다 commit 된다.
+     * 그래서 커넥션을 직접 잡아 auto-commit 을 끄고 JdbcTransaction 으로 세션을 만든다.
+     */
+    private SqlSession openTransactionalSession(SqlSessionFactory sessionFactory, ExecutorType executorType) throws SQLException {
+        Connection connection = acquireConnection(sessionFactory, remainingDeadlineMillis());
+        try {
+            connection.setAutoCommit(false);
+            return newSession(sessionFactory, connection, executorType);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private SqlSession openOnConnection(SqlSessionFactory sessionFactory, boolean write) throws SQLException {
+        Connection connection = acquireConnection(sessionFactory, remainingDeadlineMillis());
+        try {
+            if (write && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            }
+            return newSession(sessionFactory, connection, null);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 직접 잡은 커넥션 위에 SQL 세션 생성
+     * JdbcTransaction 은 commit 없이 닫히면 rollback 하고, close 시 auto-commit 을 되돌린 뒤 커넥션을 풀에 반납한다.
+     */
+    private static SqlSession newSession(SqlSessionFactory sessionFactory, Connection connection, ExecutorType executorType) {
+        Configuration configuration = sessionFactory.getConfiguration();
+        Transaction transaction = new JdbcTransaction(connection);
+        Executor executor = configuration.newExecutor(transaction,
+                executorType != null ? executorType : configuration.getDefaultExecutorType());
+        return new DefaultSqlSession(configuration, executor, false);
+    }
+
+    /**
+     * 현재 요청 deadline 의 남은 시간 (deadline 이 없으면 0 = 풀 기본 connection-timeout)
+     */
+    private static long remainingDeadlineMillis() {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return 0;
+        }
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before acquiring a connection");
+        }
+        return remaining;
+    }
+
+    /**
+     * 커넥션 획득 (timeoutMs 가 있으면 HikariCP connection-timeout 대신 그 시간만큼만 대기)
+     * 요청 deadline 이 없는 호출(연결 확인)의 대기 시간 초과와 DB 연결 실패로 인한 대기 실패는
+     * SQLTransientConnectionException 그대로 전달한다 (failover 처리 대상).
+     */
+    private Connection acquireConnection(SqlSessionFactory sessionFactory, long timeoutMs) throws SQLException {
+        DataSource dataSource = sessionFactory.getConfiguration().getEnvironment().getDataSource();
+        if (timeoutMs > 0 && dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            if (pool instanceof HikariPool) {
+                try {
+                    return ((HikariPool) pool).getConnection(timeoutMs);
+                } catch (SQLTransientConnectionException e) {
+                    // 원인이 있으면 풀 포화가 아니라 커넥션 생성 실패(failover 등)이므로 그대로 전달
+                    if (RequestDeadline.current() == null || e.getCause() != null) {
+                        throw e;
+                    }
+                    throw new DeadlineExceededException("Request deadline exceeded while waiting for a connection", e);
+                }
+            }
+        }
+        return dataSource.getConnection();
+    }
+
+    /**
+     * deadline 만료로 실패한 경우 failover/일반 DB 에러 처리 대신 DeadlineExceededException 으로 전달
+     * 만료 시점에 실패했더라도 원인이 연결 실패(failover 등)이면 변환하지 않아 호출자의 failover 복구가 실행되게 한다.
+     */
+    protected void rethrowIfDeadlineExceeded(Exception e) {
+        // 인터셉터에서 던진 예외는 MyBatis PersistenceException 으로 감싸져 올라온다
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException) {
+                throw (DeadlineExceededException) cause;
+            }
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && deadline.isExpired() && !isFailoverRelatedError(e) && !isConnectionFailure(e)) {
+            throw new DeadlineExceededException("Request deadline exceeded: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 원인 중에 연결 실패(SQLState 08xxx)가 있는지
+     */
+    private static boolean isConnectionFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 쓰기 commit 리스너 등록
+     * @param listener commit 된 statement 의 namespace 를 받음 (unit of work 는 null = 전체)
+     */
+    public void addWriteListener(Consumer<String> listener) {
+        writeListeners.add(listener);
+    }
+
+    /**
+     * 쓰기 commit 통지
+     */
+    private void notifyWrite(String statement) {
+        if (writeListeners.isEmpty()) {
+            return;
+        }
+        String namespace = null;
+        if (statement != null) {
+            int dot = statement.lastIndexOf('.');
+            namespace = dot > 0 ? statement.substring(0, dot) : statement;
+        }
+        for (Consumer<String> listener : writeListeners) {
+            try {
+                listener.accept(namespace);
+            } catch (Exception e) {
+                logger.warn("Write listener failed for {}: {}", statement, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 지금까지 연 SQL 세션 수 (커넥션 체크아웃 수)
+     */
+    public long getSessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * 지금까지 실행한 commit 수
+     */
+    public long getCommitCount() {
+        return commitCount.get();
+    }
     
     /**
      * 데이터 삽입
@@ -56,11 +352,16 @@ public class SqlMapBuilder {
      * @return 결과 문자열
      */
     public int insert(String statement, Map<String, String> parameter) {
-        try (SqlSession session = primarySqlSessionFactory.openSession()) {
+        long permit = primaryLimiter.acquire(AdmissionPriority.WRITE);
+        try (SqlSession session = openSession(primarySqlSessionFactory, true)) {
+            sessionCount.incrementAndGet();
             int result = session.insert(statement, parameter);
             session.commit();
+            commitCount.incrementAndGet();
+            notifyWrite(statement);
             return result;
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Error executing insert: {}", e.getMessage(), e);
             
             // Failover 관련 에러 체크
@@ -71,6 +372,8 @@ public class SqlMapBuilder {
             
             handleSqlException(e);
             return -1;
+        } finally {
+            primaryLimiter.release(permit);
         }
     }
     
@@ -81,11 +384,16 @@ public class SqlMapBuilder {
      * @return 결과 문자열
      */
     public int update(String statement, Map<String, String> parameter) {
-        try (SqlSession session = primarySqlSessionFactory.openSession()) {
+        long permit = primaryLimiter.acquire(AdmissionPriority.WRITE);
+        try (SqlSession session = openSession(primarySqlSessionFactory, true)) {
+            sessionCount.incrementAndGet();
             int result = session.update(statement, parameter);
             session.commit();
+            commitCount.incrementAndGet();
+            notifyWrite(statement);
             return result;
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Error executing update: {}", e.getMessage(), e);
             
             // Failover 관련 에러 체크
@@ -96,6 +404,8 @@ public class SqlMapBuilder {
             
             handleSqlException(e);
             return -1;
+        } finally {
+            primaryLimiter.release(permit);
         }
     }
     
@@ -106,11 +416,16 @@ public class SqlMapBuilder {
      * @return 결과 문자열
      */
     public int delete(String statement, Map<String, String> parameter) {
-        try (SqlSession session = primarySqlSessionFactory.openSession()) {
+        long permit = primaryLimiter.acquire(AdmissionPriority.WRITE);
+        try (SqlSession session = openSession(primarySqlSessionFactory, true)) {
+            sessionCount.incrementAndGet();
             int result = session.delete(statement, parameter);
             session.commit();
+            commitCount.incrementAndGet();
+            notifyWrite(statement);
             return result;
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Error executing delete: {}", e.getMessage(), e);
             
             // Failover 관련 에러 체크
@@ -121,6 +436,8 @@ public class SqlMapBuilder {
             
             handleSqlException(e);
             return -1;
+        } finally {
+            primaryLimiter.release(permit);
         }
     }
     
@@ -131,9 +448,13 @@ public class SqlMapBuilder {
      * @return 결과 객체
      */
     public Object select(String statement, Object parameter) {
-        try (SqlSession session = readonlySqlSessionFactory.openSession()) {
+        AdaptiveConcurrencyLimiter limiter = readLimiter();
+        long permit = limiter.acquire(AdmissionPriority.READ);
+        try (SqlSession session = openSession(readSessionFactory(), false)) {
+            sessionCount.incrementAndGet();
             return session.selectOne(statement, parameter);
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Error executing select: {}", e.getMessage(), e);
             
             // Failover 관련 에러 체크
@@ -144,6 +465,8 @@ public class SqlMapBuilder {
             
             handleSqlException(e);
             return null;
+        } finally {
+            limiter.release(permit);
         }
     }
     
@@ -154,9 +477,13 @@ public class SqlMapBuilder {
      * @return 결과 목록
      */
     public Object selectList(String statement, Object parameter) {
-        try (SqlSession session = readonlySqlSessionFactory.openSession()) {
+        AdaptiveConcurrencyLimiter limiter = readLimiter();
+        long permit = limiter.acquire(AdmissionPriority.READ);
+        try (SqlSession session = openSession(readSessionFactory(), false)) {
+            sessionCount.incrementAndGet();
             return session.selectList(statement, parameter);
         } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
             logger.error("Error executing selectList: {}", e.getMessage(), e);
             
             // Failover 관련 에러 체크
@@ -167,6 +494,146 @@ public class SqlMapBuilder {
             
             handleSqlException(e);
             return null;
+        } finally {
+            limiter.release(permit);
+        }
+    }
+
+    /**
+     * 데이터 스트리밍 조회 (결과를 목록으로 모으지 않고 한 건씩 handler 로 전달)
+     * @param statement SQL 문장
+     * @param parameter 파라미터
+     * @param handler 결과 처리기
+     */
+    public void selectEach(String statement, Object parameter, ResultHandler<?> handler) {
+        AdaptiveConcurrencyLimiter limiter = readLimiter();
+        long permit = limiter.acquire(AdmissionPriority.READ);
+        try (SqlSession session = openSession(readSessionFactory(), false)) {
+            sessionCount.incrementAndGet();
+            session.select(statement, parameter, handler);
+        } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
+            logger.error("Error executing selectEach: {}", e.getMessage(), e);
+
+            // Failover 관련 에러 체크
+            if (isFailoverRelatedError(e)) {
+                logger.warn("Failover related error detected during selectEach, attempting recovery...");
+                handleFailoverRecovery();
+            }
+
+            handleSqlException(e);
+        } finally {
+            limiter.release(permit, false);
+        }
+    }
+
+    /**
+     * 여러 mapped statement 를 하나의 primary 세션(커넥션)에서 실행하고 한 번에 commit
+     * 콜백에서 예외가 발생하면 commit 없이 세션을 닫으므로 전체가 rollback 된다.
+     * @param callback 세션 작업
+     * @return 콜백 결과
+     */
+    public <T> T inTransaction(SqlSessionCallback<T> callback) {
+        return inTransaction(false, callback);
+    }
+
+    /**
+     * 여러 mapped statement 를 하나의 primary 세션(커넥션)에서 실행하고 한 번에 commit
+     * @param batch true 이면 BATCH executor 로 JDBC statement batching (addBatch/executeBatch) 을 사용해
+     *              연속된 같은 statement 를 한 번의 round trip 으로 전송한다. 여러 트랜잭션의 로그 flush 를
+     *              합치는 DB 의 group commit 과는 다르며, commit 은 batch 여부와 관계없이 한 번이다.
+     *              이 경우 insert/update/delete 반환값은 실제 건수가 아니며, 건수는 flush 시점에 확정된다.
+     * @param callback 세션 작업
+     * @return 콜백 결과
+     */
+    public <T> T inTransaction(boolean batch, SqlSessionCallback<T> callback) {
+        long permit = primaryLimiter.acquire(AdmissionPriority.WRITE);
+        try (UnitOfWork work = beginUnitOfWork(batch)) {
+            return work.execute(callback);
+        } catch (Exception e) {
+            rethrowIfDeadlineExceeded(e);
+            logger.error("Error executing unit of work: {}", e.getMessage(), e);
+
+            // Failover 관련 에러 체크
+            if (isFailoverRelatedError(e)) {
+                logger.warn("Failover related error detected during unit of work, attempting recovery...");
+                handleFailoverRecovery();
+            }
+
+            handleSqlException(e);
+            return null;
+        } finally {
+            primaryLimiter.release(permit);
+        }
+    }
+
+    /**
+     * unit of work 시작 (primary permit 은 호출자가 획득/반납)
+     */
+    UnitOfWork beginUnitOfWork(boolean batch) throws SQLException {
+        return new UnitOfWork(batch);
+    }
+
+    /**
+     * auto-commit 을 끈 primary 세션 하나와 그 commit/rollback
+     */
+    final class UnitOfWork implements AutoCloseable {
+        private final boolean batch;
+        private final SqlSession session;
+
+        private UnitOfWork(boolean batch) throws SQLException {
+            this.batch = batch;
+            this.session = openTransactionalSession(primarySqlSessionFactory, batch ? ExecutorType.BATCH : ExecutorType.SIMPLE);
+            sessionCount.incrementAndGet();
+        }
+
+        SqlSession getSession() {
+            return session;
+        }
+
+        /**
+         * 콜백 실행 후 commit, 예외 시 rollback
+         */
+        <T> T execute(SqlSessionCallback<T> callback) throws Exception {
+            T result;
+            try {
+                result = callback.doInSession(session);
+                commit();
+            } catch (Exception e) {
+                rollback(e);
+                throw e;
+            }
+            return result;
+        }
+
+        void commit() {
+            if (batch) {
+                List<BatchResult> batchResults = session.flushStatements();
+                if (logger.isDebugEnabled()) {
+                    int statements = batchResults.stream().mapToInt(r -> r.getParameterObjects().size()).sum();
+                    logger.debug("Unit of work flushed {} statements in {} batches", statements, batchResults.size());
+                }
+            }
+            session.commit();
+            commitCount.incrementAndGet();
+            // 어떤 statement 가 실행됐는지 알 수 없으므로 전체 namespace 에 통지
+            notifyWrite(null);
+        }
+
+        /**
+         * 이미 실행된 statement 가 있을 수 있으므로 dirty 여부와 관계없이 rollback
+         */
+        void rollback(Exception cause) {
+            try {
+                session.rollback(true);
+            } catch (Exception rollbackError) {
+                cause.addSuppressed(rollbackError);
+            }
+        }
+
+        @Override
+        public void close() {
+            session.close();
         }
     }
     
@@ -182,7 +649,7 @@ public class SqlMapBuilder {
      * @param e 예외
      * @return failover 관련 에러 여부
      */
-    private boolean isFailoverRelatedError(Exception e) {
+    protected boolean isFailoverRelatedError(Exception e) {
         String errorMessage = e.getMessage();
         if (errorMessage == null) return false;
         
@@ -247,7 +714,7 @@ public class SqlMapBuilder {
     private void refreshHikariPool(SqlSessionFactory sessionFactory, String poolName) throws Exception {
         try {
             // SqlSessionFactory에서 DataSource 직접 가져오기
-            javax.sql.DataSource dataSource = sessionFactory.getConfiguration().getEnvironment().getDataSource();
+            DataSource dataSource = sessionFactory.getConfiguration().getEnvironment().getDataSource();
             
             if (dataSource.isWrapperFor(HikariDataSource.class)) {
                 HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
@@ -302,7 +769,7 @@ public class SqlMapBuilder {
      * SQL 예외 처리
      * @param e 예외
      */
-    private void handleSqlException(Exception e) {
+    protected void handleSqlException(Exception e) {
         String errorMessage = e.getMessage();
         String errorCode = ErrorCode.DB_ETC_ERROR;
         
@@ -330,26 +797,41 @@ public class SqlMapBuilder {
      // DB 연결 확인 메서드 추가
      public void reConnectionCheck() {
         logger.info("Checking database connection...");
-        try (SqlSession session = primarySqlSessionFactory.openSession();
-            Connection conn = session.getConnection();
-            Statement stmt = conn.createStatement()) {
-            // session.selectOne("common.getDualValue");
-            stmt.execute("SELECT 1");
-            logger.info("Primary database connection is OK");
-        } catch (Exception e) {
-            logger.error("Primary database connection check failed: {}", e.getMessage());
-        }
-        
-        try (SqlSession session = readonlySqlSessionFactory.openSession();
-             Connection conn = session.getConnection();
-            Statement stmt = conn.createStatement()) {
-            // session.selectOne("common.getDualValue");
-            stmt.execute("SELECT 1");
-            // session.selectOne("common.getDualValue");
-            logger.info("Readonly database connection is OK");
+        checkConnection(primarySqlSessionFactory, primaryLimiter, "Primary");
+        checkConnection(readonlySqlSessionFactory, readonlyLimiter, "Readonly");
+    }
+
+    /**
+     * SELECT 1 로 연결 확인
+     * 커넥션 대기와 실행 모두 요청 deadline(없으면 HEALTH_CHECK_TIMEOUT_MS) 안에서 끝나며,
+     * 쓰기가 풀을 모두 잡고 있어도 connection-timeout 만큼 붙잡혀 있지 않는다.
+     */
+    private void checkConnection(SqlSessionFactory sessionFactory, AdaptiveConcurrencyLimiter limiter, String name) {
+        long permit = limiter.acquire(AdmissionPriority.HEALTH);
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            long remaining = remainingDeadlineMillis();
+            long timeoutMs = remaining > 0 ? Math.min(remaining, HEALTH_CHECK_TIMEOUT_MS) : HEALTH_CHECK_TIMEOUT_MS;
+            try (Connection conn = acquireConnection(sessionFactory, timeoutMs);
+                 Statement stmt = conn.createStatement()) {
+                stmt.setQueryTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+                if (deadline != null) {
+                    deadline.register(stmt);
+                }
+                try {
+                    stmt.execute("SELECT 1");
+                } finally {
+                    if (deadline != null) {
+                        deadline.unregister(stmt);
+                    }
+                }
+            }
+            logger.info("{} database connection is OK", name);
         } catch (Exception e) {
-            logger.error("Readonly database connection check failed: {}", e.getMessage());
+            rethrowIfDeadlineExceeded(e);
+            logger.error("{} database connection check failed: {}", name, e.getMessage());
+        } finally {
+            limiter.release(permit);
         }
     }
 }
-
@@ -0,0 +1,18 @@
+package com.chicken.sample.db;
+
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * 하나의 SqlSession 안에서 실행할 작업 (SqlMapBuilder.inTransaction 용)
+ * @param <T> 결과 타입
+ */
+@FunctionalInterface
+public interface SqlSessionCallback<T> {
+
+    /**
+     * 세션 작업 실행
+     * @param session primary SQL 세션 (commit/close 는 SqlMapBuilder 가 처리)
+     * @return 결과 객체
+     */
+    T doInSession(SqlSession session) throws Exception;
+}
@@ -12,6 +12,7 @@ public class User {
     private String email;
     private String phone;
     private String status;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -31,6 +32,13 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    // 전체 생성자 (버전 포함)
+    public User(Long id, String userId, String name, String email, 
+                String phone, String status, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, userId, name, email, phone, status, createdAt, updatedAt);
+        this.version = version;
+    }
+
     // Getter/Setter 메서드들
     public Long getId() {
         return id;
@@ -80,6 +88,14 @@ public class User {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -105,6 +121,7 @@ public class User {
                 ", email='" + email + '\'' +
                 ", phone='" + phone + '\'' +
                 ", status='" + status + '\'' +
+                ", version=" + version +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
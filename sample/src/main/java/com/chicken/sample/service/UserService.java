@@ -1,5 +1,6 @@
 package com.chicken.sample.service;
 
+import com.chicken.sample.cache.UserIdFilter;
 import com.chicken.sample.db.SqlMapBuilder;
 import com.chicken.sample.entity.User;
 import org.slf4j.Logger;
@@ -7,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -20,10 +22,12 @@ public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final SqlMapBuilder sqlMapBuilder;
+    private final UserIdFilter userIdFilter;
 
     @Autowired
-    public UserService(SqlMapBuilder sqlMapBuilder) {
+    public UserService(SqlMapBuilder sqlMapBuilder, UserIdFilter userIdFilter) {
         this.sqlMapBuilder = sqlMapBuilder;
+        this.userIdFilter = userIdFilter;
     }
 
     /**
@@ -44,6 +48,7 @@ public class UserService {
         int result = sqlMapBuilder.insert("user.insertUser", params);
         
         if (result > 0) {
+            userIdFilter.onUserCreated(user.getUserId());
             logger.info("User created successfully: {}", user.getUserId());
         } else {
             logger.error("Failed to create user: {}", user.getUserId());
@@ -57,6 +62,12 @@ public class UserService {
      */
     public User getUser(String userId) {
         logger.info("Getting user: {}", userId);
+
+        // 확실히 없는 ID 는 DB 조회 없이 반환
+        if (!userIdFilter.mightContain(userId)) {
+            logger.info("User id filter reports definite miss: {}", userId);
+            return null;
+        }
         
         Map<String, String> params = new HashMap<>();
         params.put("userId", userId);
@@ -114,6 +125,36 @@ public class UserService {
         return result;
     }
 
+    /**
+     * User 버전 조건부 수정 (optimistic lock)
+     * @param user 수정할 User
+     * @param expectedVersion 클라이언트가 알고 있는 버전
+     * @return 수정 건수, 0 이면 버전 불일치 또는 사용자 없음
+     */
+    public int updateUserIfVersion(User user, long expectedVersion) {
+        logger.info("Updating user: {} (expected version {})", user.getUserId(), expectedVersion);
+
+        Map<String, String> params = new HashMap<>();
+        params.put("userId", user.getUserId());
+        params.put("name", user.getName());
+        params.put("email", user.getEmail());
+        params.put("phone", user.getPhone());
+        params.put("status", user.getStatus());
+        params.put("updatedAt", LocalDateTime.now().toString());
+        params.put("version", String.valueOf(expectedVersion));
+
+        int result = sqlMapBuilder.update("user.updateUserIfVersion", params);
+
+        if (result > 0) {
+            user.setVersion(expectedVersion + 1);
+            logger.info("User updated successfully: {} (version {})", user.getUserId(), user.getVersion());
+        } else {
+            logger.warn("Version conditional update did not apply: {}", user.getUserId());
+        }
+
+        return result;
+    }
+
     /**
      * User 삭제
      */
@@ -126,6 +167,7 @@ public class UserService {
         int result = sqlMapBuilder.delete("user.deleteUser", params);
         
         if (result > 0) {
+            userIdFilter.onUserDeleted(userId);
             logger.info("User deleted successfully: {}", userId);
         } else {
             logger.error("Failed to delete user: {}", userId);
@@ -158,16 +200,33 @@ public class UserService {
         if (row.get("STATUS") != null) {
             user.setStatus(row.get("STATUS").toString());
         }
+        if (row.get("VERSION") != null) {
+            user.setVersion(Long.valueOf(row.get("VERSION").toString()));
+        }
         if (row.get("CREATED_AT") != null) {
-            user.setCreatedAt(LocalDateTime.parse(row.get("CREATED_AT").toString()));
+            user.setCreatedAt(toLocalDateTime(row.get("CREATED_AT")));
         }
         if (row.get("UPDATED_AT") != null) {
-            user.setUpdatedAt(LocalDateTime.parse(row.get("UPDATED_AT").toString()));
+            user.setUpdatedAt(toLocalDateTime(row.get("UPDATED_AT")));
         }
         
         return user;
     }
 
+    /**
+     * 드라이버가 돌려주는 날짜 값을 LocalDateTime 으로 변환
+     * (TIMESTAMP 컬럼은 java.sql.Timestamp, DATETIME 은 LocalDateTime 으로 올 수 있음)
+     */
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return LocalDateTime.parse(value.toString());
+    }
+
     /**
      * DB 연결 상태 확인
      */
@@ -0,0 +1,263 @@
+package com.chicken.sample.warmup;
+
+import com.chicken.sample.db.SqlMapBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기동 워밍업 클래스
+ * ApplicationRunner 는 readiness 상태가 ACCEPTING_TRAFFIC 으로 바뀌기 전에 실행되므로
+ * 워밍업이 끝날 때까지 readiness probe 는 UP 을 보고하지 않는다.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final SqlMapBuilder sqlMapBuilder;
+    private final Environment environment;
+
+    private final boolean enabled;
+    private final int primaryPoolFill;
+    private final int readonlyPoolFill;
+    private final List<String> statements;
+    private final int statementIterations;
+    private final String warmupUserId;
+    private final List<String> httpPaths;
+    private final long httpBudgetMs;
+    private final int httpConcurrency;
+    private final int httpMaxRequests;
+
+    private volatile long lastDurationMs = -1;
+
+    @Autowired
+    public StartupWarmup(
+            SqlMapBuilder sqlMapBuilder,
+            Environment environment,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.primary-pool-fill:5}") int primaryPoolFill,
+            @Value("${warmup.readonly-pool-fill:5}") int readonlyPoolFill,
+            @Value("${warmup.statements:user.selectUser,chickenStock.selectActiveChickenStocks}") List<String> statements,
+            @Value("${warmup.statement-iterations:20}") int statementIterations,
+            @Value("${warmup.user-id:__warmup__}") String warmupUserId,
+            @Value("${warmup.http-paths:/api/users/health,/api/users,/api/users/__warmup__}") List<String> httpPaths,
+            @Value("${warmup.http-budget-ms:5000}") long httpBudgetMs,
+            @Value("${warmup.http-concurrency:4}") int httpConcurrency,
+            @Value("${warmup.http-max-requests:200}") int httpMaxRequests) {
+        this.sqlMapBuilder = sqlMapBuilder;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.primaryPoolFill = primaryPoolFill;
+        this.readonlyPoolFill = readonlyPoolFill;
+        this.statements = statements;
+        this.statementIterations = statementIterations;
+        this.warmupUserId = warmupUserId;
+        this.httpPaths = httpPaths;
+        this.httpBudgetMs = httpBudgetMs;
+        this.httpConcurrency = httpConcurrency;
+        this.httpMaxRequests = httpMaxRequests;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            logger.info("Startup warm-up disabled");
+            return;
+        }
+
+        logger.info("Starting warm-up before accepting traffic...");
+        long start = System.nanoTime();
+
+        long poolStart = System.nanoTime();
+        fillPool(sqlMapBuilder.getPrimarySqlSessionFactory(), "PRIMARY", primaryPoolFill);
+        fillPool(sqlMapBuilder.getReadonlySqlSessionFactory(), "READONLY", readonlyPoolFill);
+        long poolMs = elapsedMs(poolStart);
+
+        long statementStart = System.nanoTime();
+        runStatements();
+        long statementMs = elapsedMs(statementStart);
+
+        long httpStart = System.nanoTime();
+        long requests = driveHttpRequests();
+        long httpMs = elapsedMs(httpStart);
+
+        lastDurationMs = elapsedMs(start);
+        logger.info("Warm-up completed in {} ms (pools: {} ms, statements: {} ms, http: {} ms / {} requests)",
+                lastDurationMs, poolMs, statementMs, httpMs, requests);
+    }
+
+    /**
+     * 마지막 워밍업 소요 시간(ms), 실행되지 않았으면 -1
+     */
+    public long getLastDurationMs() {
+        return lastDurationMs;
+    }
+
+    /**
+     * HikariCP Pool 을 지정 개수만큼 미리 채우기
+     * 커넥션을 동시에 잡았다가 반납하므로 반납된 커넥션은 idle-timeout 까지 idle 상태로 남는다.
+     */
+    private void fillPool(SqlSessionFactory sessionFactory, String poolName, int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        DataSource dataSource = sessionFactory.getConfiguration().getEnvironment().getDataSource();
+        List<Connection> connections = new ArrayList<>();
+        try {
+            int target = count;
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                target = Math.min(count, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+            }
+            for (int i = 0; i < target; i++) {
+                connections.add(dataSource.getConnection());
+            }
+            logger.info("{} pool pre-filled with {} connections", poolName, connections.size());
+        } catch (Exception e) {
+            logger.warn("Could not pre-fill {} pool: {}", poolName, e.getMessage());
+        } finally {
+            for (Connection conn : connections) {
+                try {
+                    conn.close();
+                } catch (Exception e) {
+                    logger.warn("Could not return {} warm-up connection: {}", poolName, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 읽기 전용 mapped statement 를 반복 실행 (statement 준비 및 결과 매핑 경로 워밍업)
+     */
+    private void runStatements() {
+        Map<String, String> params = new HashMap<>();
+        params.put("userId", warmupUserId);
+
+        for (String statement : statements) {
+            try {
+                for (int i = 0; i < statementIterations; i++) {
+                    sqlMapBuilder.selectList(statement, params);
+                }
+            } catch (Exception e) {
+                logger.warn("Warm-up statement {} failed: {}", statement, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 자기 자신에게 합성 요청을 보내 Tomcat, Spring MVC, Jackson 경로 워밍업
+     * 요청 수는 http-max-requests, 시간은 http-budget-ms 중 먼저 닿는 쪽에서 멈춘다 (요청마다 INFO 로그가 남으므로 무한히 돌리지 않음).
+     * 처음과 마지막 요청의 평균 지연을 남겨 워밍업이 실제 트래픽 대신 흡수한 콜드 스타트 비용을 확인할 수 있게 한다.
+     * @return 전송한 요청 수
+     */
+    private long driveHttpRequests() {
+        String port = environment.getProperty("local.server.port");
+        if (port == null || httpBudgetMs <= 0 || httpMaxRequests <= 0 || httpPaths.isEmpty()) {
+            return 0;
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        AtomicInteger issued = new AtomicInteger();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        // 요청 순번별 지연(ns), 실패는 -1
+        long[] latencies = new long[httpMaxRequests];
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(httpBudgetMs);
+
+        ExecutorService executor = Executors.newFixedThreadPool(httpConcurrency);
+        try {
+            for (int t = 0; t < httpConcurrency; t++) {
+                executor.execute(() -> {
+                    int i;
+                    while (System.nanoTime() < deadline && (i = issued.getAndIncrement()) < httpMaxRequests) {
+                        String path = httpPaths.get(i % httpPaths.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                                .timeout(Duration.ofSeconds(5))
+                                .header("Accept", "application/json")
+                                .GET()
+                                .build();
+                        long requestStart = System.nanoTime();
+                        try {
+                            client.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[i] = System.nanoTime() - requestStart;
+                        } catch (Exception e) {
+                            latencies[i] = -1;
+                            failed.incrementAndGet();
+                        }
+                        sent.incrementAndGet();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(httpBudgetMs + 10000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (failed.get() > 0) {
+            logger.warn("{} of {} warm-up requests failed", failed.get(), sent.get());
+        }
+        logColdStartCost(latencies, (int) Math.min(sent.get(), httpMaxRequests));
+        return sent.get();
+    }
+
+    /**
+     * 처음/마지막 10% 요청의 평균 지연 비교 로그
+     */
+    private static void logColdStartCost(long[] latencies, int count) {
+        int window = Math.max(1, count / 10);
+        if (count < window * 2) {
+            return;
+        }
+        double firstMs = averageMs(latencies, 0, window);
+        double lastMs = averageMs(latencies, count - window, count);
+        if (firstMs >= 0 && lastMs >= 0) {
+            logger.info("Warm-up request latency: first {} avg {} ms, last {} avg {} ms",
+                    window, String.format("%.1f", firstMs), window, String.format("%.1f", lastMs));
+        }
+    }
+
+    private static double averageMs(long[] latencies, int from, int to) {
+        long total = 0;
+        int samples = 0;
+        for (int i = from; i < to; i++) {
+            if (latencies[i] >= 0) {
+                total += latencies[i];
+                samples++;
+            }
+        }
+        return samples == 0 ? -1 : total / (samples * 1_000_000.0);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
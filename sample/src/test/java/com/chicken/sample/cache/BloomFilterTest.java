@@ -0,0 +1,53 @@
+package com.chicken.sample.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+	@Test
+	void neverReportsAddedKeyAsMissing() {
+		BloomFilter filter = new BloomFilter(10000, 0.01);
+
+		for (int i = 0; i < 10000; i++) {
+			filter.put("user-" + i);
+		}
+
+		for (int i = 0; i < 10000; i++) {
+			assertThat(filter.mightContain("user-" + i)).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTarget() {
+		BloomFilter filter = new BloomFilter(10000, 0.01);
+		for (int i = 0; i < 10000; i++) {
+			filter.put("user-" + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 10000; i++) {
+			if (filter.mightContain("unknown-" + i)) {
+				falsePositives++;
+			}
+		}
+
+		assertThat(falsePositives / 10000.0).isLessThan(0.02);
+		assertThat(filter.estimatedFpp()).isLessThan(0.02);
+	}
+
+	@Test
+	void repeatedPutsDoNotInflateInsertions() {
+		BloomFilter filter = new BloomFilter(10000, 0.01);
+
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 1000; i++) {
+				filter.put("user-" + i);
+			}
+		}
+
+		assertThat(filter.getInsertions()).isBetween(990L, 1000L);
+		assertThat(filter.put("user-0")).isFalse();
+	}
+}
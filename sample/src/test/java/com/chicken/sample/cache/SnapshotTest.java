@@ -0,0 +1,88 @@
+package com.chicken.sample.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotTest {
+
+	// off-heap 복사 단위(64 KB)보다 크게
+	private static final byte[] BODY = body(200 * 1024);
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void writesIdentityBodyUnchanged(boolean offHeap) throws IOException {
+		Snapshot snapshot = Snapshot.of(BODY, true, offHeap);
+
+		byte[] written = write(snapshot, false);
+
+		assertThat(written).isEqualTo(BODY);
+		assertThat(snapshot.getLength(false)).isEqualTo(BODY.length);
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void writesGzipBodyThatInflatesToIdentityBody(boolean offHeap) throws IOException {
+		Snapshot snapshot = Snapshot.of(BODY, true, offHeap);
+
+		byte[] written = write(snapshot, true);
+
+		assertThat(written).hasSize(snapshot.getLength(true));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(written))) {
+			assertThat(in.readAllBytes()).isEqualTo(BODY);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void canBeWrittenRepeatedly(boolean offHeap) throws IOException {
+		Snapshot snapshot = Snapshot.of(BODY, true, offHeap);
+
+		assertThat(write(snapshot, false)).isEqualTo(write(snapshot, false));
+		assertThat(write(snapshot, true)).isEqualTo(write(snapshot, true));
+	}
+
+	@Test
+	void withoutGzipHasNoGzipBody() {
+		Snapshot snapshot = Snapshot.of(BODY, false, false);
+
+		assertThat(snapshot.hasGzip()).isFalse();
+	}
+
+	@Test
+	void etagDiffersPerEncodingAndContent() {
+		Snapshot snapshot = Snapshot.of(BODY, true, false);
+		Snapshot same = Snapshot.of(BODY.clone(), true, true);
+		Snapshot other = Snapshot.of("{\"count\":0}".getBytes(StandardCharsets.UTF_8), true, false);
+
+		assertThat(snapshot.getEtag(true)).isNotEqualTo(snapshot.getEtag(false));
+		assertThat(same.getEtag(false)).isEqualTo(snapshot.getEtag(false));
+		assertThat(same.getEtag(true)).isEqualTo(snapshot.getEtag(true));
+		assertThat(other.getEtag(false)).isNotEqualTo(snapshot.getEtag(false));
+	}
+
+	private static byte[] write(Snapshot snapshot, boolean gzip) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		snapshot.writeTo(out, gzip);
+		return out.toByteArray();
+	}
+
+	private static byte[] body(int length) {
+		// 압축이 되도록 반복이 섞인 JSON 비슷한 본문
+		StringBuilder builder = new StringBuilder(length);
+		Random random = new Random(42);
+		while (builder.length() < length) {
+			builder.append("{\"userId\":\"user-").append(random.nextInt(100000)).append("\",\"status\":\"ACTIVE\"},");
+		}
+		return builder.substring(0, length).getBytes(StandardCharsets.UTF_8);
+	}
+}
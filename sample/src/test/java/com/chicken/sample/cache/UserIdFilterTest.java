@@ -0,0 +1,76 @@
+package com.chicken.sample.cache;
+
+import com.chicken.sample.db.SqlMapBuilder;
+import com.chicken.sample.support.H2TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.chicken.sample.support.H2TestDatabase.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIdFilterTest {
+
+	private static H2TestDatabase database;
+	private static SqlMapBuilder builder;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		database = H2TestDatabase.create("useridfilter");
+		builder = database.newSqlMapBuilder();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		database.close();
+	}
+
+	@BeforeEach
+	void resetTable() throws Exception {
+		database.execute("DROP TABLE IF EXISTS USERS");
+		builder.update("user.createUserTable", null);
+	}
+
+	@Test
+	void userCreatedByAnotherInstanceIsVisibleAfterSync() {
+		UserIdFilter filter = filter(60000);
+		filter.rebuild();
+
+		// 다른 인스턴스의 생성: 이 인스턴스의 onUserCreated 는 호출되지 않음
+		builder.insert("user.insertUser", user("elsewhere"));
+		filter.syncRecent();
+
+		assertThat(filter.mightContain("elsewhere")).isTrue();
+		assertThat(filter.mightContain("never-created")).isFalse();
+	}
+
+	@Test
+	void staleFilterFallsBackToDatabase() {
+		UserIdFilter filter = filter(0);
+		filter.rebuild();
+
+		assertThat(filter.isFresh()).isFalse();
+		assertThat(filter.mightContain("never-created")).isTrue();
+	}
+
+	@Test
+	void failedRebuildKeepsLocallyCreatedIds() throws Exception {
+		UserIdFilter filter = filter(60000);
+		filter.rebuild();
+		filter.onUserCreated("local-only");
+
+		database.execute("DROP TABLE USERS");
+		filter.rebuild();
+
+		builder.update("user.createUserTable", null);
+		filter.rebuild();
+
+		assertThat(filter.mightContain("local-only")).isTrue();
+	}
+
+	private static UserIdFilter filter(long maxStalenessMs) {
+		return new UserIdFilter(builder, new SimpleMeterRegistry(), true, 1000, 0.01, 1000, maxStalenessMs);
+	}
+}
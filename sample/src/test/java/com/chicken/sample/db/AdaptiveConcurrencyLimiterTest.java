@@ -0,0 +1,99 @@
+package com.chicken.sample.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void shedsReadBeforeWriteBeforeHealth() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 20);
+
+		assertThat(acquireUntilRejected(limiter, AdmissionPriority.READ)).isEqualTo(9);
+		assertThat(acquireUntilRejected(limiter, AdmissionPriority.WRITE)).isEqualTo(1);
+		assertThat(acquireUntilRejected(limiter, AdmissionPriority.HEALTH)).isEqualTo(2);
+
+		assertThat(limiter.getInFlight()).isEqualTo(12);
+		assertThat(limiter.getRejectedCount()).isEqualTo(3);
+	}
+
+	@Test
+	void releaseFreesCapacity() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 2);
+		long permit = limiter.acquire(AdmissionPriority.WRITE);
+		limiter.acquire(AdmissionPriority.WRITE);
+
+		assertThatThrownBy(() -> limiter.acquire(AdmissionPriority.WRITE))
+				.isInstanceOf(AdmissionRejectedException.class);
+
+		limiter.release(permit, false);
+		limiter.acquire(AdmissionPriority.WRITE);
+		assertThat(limiter.getInFlight()).isEqualTo(2);
+	}
+
+	@Test
+	void limitGrowsWhileSaturatedAtBaselineLatency() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 200);
+
+		steady(limiter, 0, 2000, 10 * MS);
+
+		assertThat(limiter.getLimit()).isEqualTo(200);
+	}
+
+	@Test
+	void idleTrafficDoesNotInflateLimit() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 200);
+		long now = 0;
+
+		for (int i = 0; i < 2000; i++) {
+			now += MS;
+			limiter.onSample(10 * MS, 1, now);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void sustainedOverloadIsNotAbsorbedIntoBaseline() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 200);
+		long now = steady(limiter, 0, 2000, 10 * MS);
+
+		// 지연이 4 배로 늘어난 상태가 1 분 동안 이어짐 (기준 RTT 를 구간마다 새로 잡으면 30 초 뒤 한도가 다시 풀림)
+		int maxLimitAfterFirstSecond = 0;
+		for (int i = 1; i <= 6000; i++) {
+			now += 10 * MS;
+			limiter.onSample(40 * MS, limiter.getLimit(), now);
+			if (i > 100) {
+				maxLimitAfterFirstSecond = Math.max(maxLimitAfterFirstSecond, limiter.getLimit());
+			}
+		}
+
+		assertThat(maxLimitAfterFirstSecond).isLessThan(50);
+	}
+
+	private static long steady(AdaptiveConcurrencyLimiter limiter, long now, int samples, long rttNanos) {
+		for (int i = 0; i < samples; i++) {
+			now += MS;
+			limiter.onSample(rttNanos, limiter.getLimit(), now);
+		}
+		return now;
+	}
+
+	private static int acquireUntilRejected(AdaptiveConcurrencyLimiter limiter, AdmissionPriority priority) {
+		int acquired = 0;
+		while (true) {
+			try {
+				limiter.acquire(priority);
+				acquired++;
+			} catch (AdmissionRejectedException e) {
+				return acquired;
+			}
+		}
+	}
+}
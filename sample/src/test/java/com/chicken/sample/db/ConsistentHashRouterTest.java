@@ -0,0 +1,52 @@
+package com.chicken.sample.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRouterTest {
+
+	@Test
+	void sameKeyAlwaysRoutesToSameShard() {
+		ConsistentHashRouter router = new ConsistentHashRouter(List.of("shard-0", "shard-1", "shard-2"), 160);
+
+		for (int i = 0; i < 1000; i++) {
+			String key = "user-" + i;
+			assertThat(router.route(key)).isEqualTo(router.route(key));
+		}
+	}
+
+	@Test
+	void keysAreSpreadAcrossShards() {
+		ConsistentHashRouter router = new ConsistentHashRouter(List.of("shard-0", "shard-1", "shard-2"), 160);
+		int[] counts = new int[3];
+
+		for (int i = 0; i < 30000; i++) {
+			counts[router.route("user-" + i)]++;
+		}
+
+		for (int count : counts) {
+			assertThat(count).isBetween(7000, 13000);
+		}
+	}
+
+	@Test
+	void addingShardMovesOnlyItsShareOfKeys() {
+		ConsistentHashRouter three = new ConsistentHashRouter(List.of("shard-0", "shard-1", "shard-2"), 160);
+		ConsistentHashRouter four = new ConsistentHashRouter(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 160);
+		int moved = 0;
+
+		for (int i = 0; i < 10000; i++) {
+			String key = "user-" + i;
+			int after = four.route(key);
+			if (after != three.route(key)) {
+				moved++;
+				assertThat(after).isEqualTo(3);
+			}
+		}
+
+		assertThat(moved).isBetween(1500, 3500);
+	}
+}
@@ -0,0 +1,81 @@
+package com.chicken.sample.db;
+
+import com.chicken.sample.support.H2TestDatabase;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SqlMapBuilder 가 만든 세션의 statement 가 요청 deadline 에 취소되는지 확인
+ */
+class DeadlineStatementInterceptorTest {
+
+	private static H2TestDatabase database;
+	private static SqlSessionFactory factory;
+	private static SqlMapBuilder builder;
+	private static ScheduledExecutorService timer;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		database = H2TestDatabase.create("deadline");
+		factory = database.getSessionFactory();
+		builder = database.newSqlMapBuilder();
+		timer = Executors.newSingleThreadScheduledExecutor();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		timer.shutdownNow();
+		database.close();
+	}
+
+	@AfterEach
+	void clearDeadline() {
+		RequestDeadline.clear();
+	}
+
+	@Test
+	void registersInterceptorOncePerFactory() {
+		new SqlMapBuilder(factory, factory);
+
+		long registered = factory.getConfiguration().getInterceptors().stream()
+				.filter(interceptor -> interceptor instanceof DeadlineStatementInterceptor)
+				.count();
+		assertThat(registered).isEqualTo(1);
+	}
+
+	@Test
+	void cancelsRunningStatementWhenDeadlinePasses() {
+		// DeadlineInterceptor 의 타이머와 같은 방식으로 만료 시 cancel() 호출
+		RequestDeadline deadline = RequestDeadline.start(200);
+		timer.schedule(deadline::cancel, 200, TimeUnit.MILLISECONDS);
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> builder.select("deadlineTest.selectSlowCount", null))
+				.isInstanceOf(DeadlineExceededException.class);
+
+		// queryTimeout(남은 시간 올림 = 1초)보다 먼저 끝났으면 cancel() 로 중단된 것
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(900);
+	}
+
+	@Test
+	void capsQueryTimeoutToRemainingBudget() {
+		RequestDeadline.start(300);
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> builder.select("deadlineTest.selectSlowCount", null))
+				.isInstanceOf(DeadlineExceededException.class);
+
+		// 취소 타이머 없이 queryTimeout(1초)만으로 중단, default-statement-timeout 까지 기다리지 않음
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+	}
+}
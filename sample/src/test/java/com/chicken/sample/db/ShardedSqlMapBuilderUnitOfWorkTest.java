@@ -0,0 +1,84 @@
+package com.chicken.sample.db;
+
+import com.chicken.sample.support.H2TestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.chicken.sample.support.H2TestDatabase.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 샤드 키 없이 호출한 inTransaction 이 첫 statement 의 샤드 키로 라우팅되는지 확인
+ */
+class ShardedSqlMapBuilderUnitOfWorkTest {
+
+	private static final List<String> SHARD_NAMES = List.of("shard-a", "shard-b");
+
+	private static ShardedSqlMapBuilder builder;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		List<SqlMapBuilder> shards = List.of(shard("uow_shard_a"), shard("uow_shard_b"));
+		builder = new ShardedSqlMapBuilder(SHARD_NAMES, shards, 160);
+		builder.update("user.createUserTable", null);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		builder.close();
+	}
+
+	@Test
+	void keylessUnitOfWorkRunsOnShardOfFirstStatement() {
+		String userId = userIdOnShard(0, "routed");
+
+		builder.inTransaction(session -> {
+			session.insert("user.insertUser", user(userId));
+			return session.update("user.updateUserPhone", Map.of("userId", userId, "phone", "010-1111-2222",
+					"updatedAt", "2026-01-02 00:00:00"));
+		});
+
+		assertThat(builder.getShards().get(0).select("user.selectUser", Map.of("userId", userId))).isNotNull();
+		assertThat(builder.getShards().get(1).select("user.selectUser", Map.of("userId", userId))).isNull();
+	}
+
+	@Test
+	void crossShardUnitOfWorkFailsAndRollsBack() {
+		String first = userIdOnShard(0, "cross-first");
+		String second = userIdOnShard(1, "cross-second");
+
+		assertThatThrownBy(() -> builder.inTransaction(session -> {
+			session.insert("user.insertUser", user(first));
+			session.insert("user.insertUser", user(second));
+			return null;
+		})).hasRootCauseInstanceOf(IllegalStateException.class);
+
+		assertThat(builder.select("user.selectUser", Map.of("userId", first))).isNull();
+		assertThat(builder.select("user.selectUser", Map.of("userId", second))).isNull();
+	}
+
+	@Test
+	void unitOfWorkWithoutShardKeyFails() {
+		assertThatThrownBy(() -> builder.inTransaction(session -> session.selectList("user.selectAllUsers")))
+				.hasRootCauseInstanceOf(IllegalStateException.class);
+	}
+
+	private static SqlMapBuilder shard(String database) throws Exception {
+		// 데이터소스는 builder.close() 에서 함께 닫힘
+		return H2TestDatabase.create(database).newSqlMapBuilder();
+	}
+
+	private static String userIdOnShard(int shardIndex, String prefix) {
+		for (int i = 0; ; i++) {
+			String userId = prefix + "-" + i;
+			if (builder.shardFor(userId) == builder.getShards().get(shardIndex)) {
+				return userId;
+			}
+		}
+	}
+}
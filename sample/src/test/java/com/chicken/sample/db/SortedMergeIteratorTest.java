@@ -0,0 +1,27 @@
+package com.chicken.sample.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedMergeIteratorTest {
+
+	@Test
+	void mergesSortedSourcesInOrder() {
+		List<Iterator<Integer>> sources = List.of(
+				List.of(9, 5, 1).iterator(),
+				List.<Integer>of().iterator(),
+				List.of(8, 7, 2).iterator(),
+				List.of(6).iterator());
+
+		List<Integer> merged = new ArrayList<>();
+		new SortedMergeIterator<>(sources, Comparator.<Integer>reverseOrder()).forEachRemaining(merged::add);
+
+		assertThat(merged).containsExactly(9, 8, 7, 6, 5, 2, 1);
+	}
+}
@@ -0,0 +1,154 @@
+package com.chicken.sample.db;
+
+import com.chicken.sample.support.H2TestDatabase;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.chicken.sample.support.H2TestDatabase.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * inTransaction 의 원자성과 per-statement API 대비 커넥션 체크아웃/commit/round trip 절감 측정
+ * 팩토리는 운영과 같이 SqlSessionFactoryBean(SpringManagedTransactionFactory) + HikariCP 기본 auto-commit=true.
+ */
+class SqlMapBuilderUnitOfWorkTest {
+
+	private static final int STATEMENTS = 20;
+
+	private static H2TestDatabase database;
+	private static SqlMapBuilder builder;
+	private static final StatementCounter executed = new StatementCounter();
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		database = H2TestDatabase.create("unitofwork", executed);
+		builder = database.newSqlMapBuilder();
+		builder.update("user.createUserTable", null);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		database.close();
+	}
+
+	@BeforeEach
+	void clearUsers() throws Exception {
+		database.execute("DELETE FROM USERS");
+	}
+
+	@Test
+	void rollsBackEarlierStatementsWhenCallbackThrows() {
+		assertThatThrownBy(() -> builder.inTransaction(session -> {
+			session.insert("user.insertUser", user("uow-first"));
+			throw new IllegalStateException("fail after first insert");
+		})).hasRootCauseMessage("fail after first insert");
+
+		assertThat(builder.select("user.selectUser", Map.of("userId", "uow-first"))).isNull();
+	}
+
+	@Test
+	void rollsBackFlushedBatchWhenCallbackThrows() {
+		assertThatThrownBy(() -> builder.inTransaction(true, session -> {
+			session.insert("user.insertUser", user("uow-batch-1"));
+			session.insert("user.insertUser", user("uow-batch-2"));
+			session.flushStatements();
+			throw new IllegalStateException("fail after flush");
+		})).hasRootCauseMessage("fail after flush");
+
+		assertThat(builder.select("user.selectUser", Map.of("userId", "uow-batch-1"))).isNull();
+	}
+
+	@Test
+	void perStatementApiChecksOutAndCommitsOncePerStatement() {
+		Counts before = Counts.now();
+		for (int i = 0; i < STATEMENTS; i++) {
+			builder.insert("user.insertUser", user("single-" + i));
+		}
+		Counts delta = Counts.now().minus(before);
+
+		assertThat(delta.sessions).isEqualTo(STATEMENTS);
+		assertThat(delta.commits).isEqualTo(STATEMENTS);
+		assertThat(delta.executions).isEqualTo(STATEMENTS);
+	}
+
+	@Test
+	void unitOfWorkChecksOutAndCommitsOnce() {
+		Counts before = Counts.now();
+		builder.inTransaction(session -> {
+			for (int i = 0; i < STATEMENTS; i++) {
+				session.insert("user.insertUser", user("uow-" + i));
+			}
+			return null;
+		});
+		Counts delta = Counts.now().minus(before);
+
+		assertThat(delta.sessions).isEqualTo(1);
+		assertThat(delta.commits).isEqualTo(1);
+		// SIMPLE executor 는 statement 마다 한 번씩 전송
+		assertThat(delta.executions).isEqualTo(STATEMENTS);
+		assertThat(countUsers()).isEqualTo(STATEMENTS);
+	}
+
+	@Test
+	void batchUnitOfWorkSendsRepeatedStatementAsOneBatch() {
+		Counts before = Counts.now();
+		List<BatchResult> batches = builder.inTransaction(true, session -> {
+			for (int i = 0; i < STATEMENTS; i++) {
+				session.insert("user.insertUser", user("batch-" + i));
+			}
+			return session.flushStatements();
+		});
+		Counts delta = Counts.now().minus(before);
+
+		assertThat(delta.sessions).isEqualTo(1);
+		assertThat(delta.commits).isEqualTo(1);
+		assertThat(delta.executions).isZero();
+		assertThat(batches).hasSize(1);
+		assertThat(batches.get(0).getUpdateCounts()).hasSize(STATEMENTS);
+		assertThat(countUsers()).isEqualTo(STATEMENTS);
+	}
+
+	private static int countUsers() {
+		return ((List<?>) builder.selectList("user.selectAllUsers", null)).size();
+	}
+
+	private record Counts(long sessions, long commits, long executions) {
+		static Counts now() {
+			return new Counts(builder.getSessionCount(), builder.getCommitCount(), executed.count.get());
+		}
+
+		Counts minus(Counts other) {
+			return new Counts(sessions - other.sessions, commits - other.commits, executions - other.executions);
+		}
+	}
+
+	/**
+	 * 즉시 실행된 statement 수 (BATCH executor 의 addBatch 는 제외)
+	 */
+	@Intercepts({
+			@Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+	})
+	private static final class StatementCounter implements Interceptor {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Object intercept(Invocation invocation) throws Throwable {
+			count.incrementAndGet();
+			return invocation.proceed();
+		}
+	}
+}
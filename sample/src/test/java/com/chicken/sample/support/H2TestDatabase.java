@@ -0,0 +1,95 @@
+package com.chicken.sample.support;
+
+import com.chicken.sample.db.SqlMapBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 테스트용 H2(MySQL 모드) 데이터베이스
+ * 운영과 같이 HikariCP(auto-commit=true) + SqlSessionFactoryBean(SpringManagedTransactionFactory) 으로 만들고
+ * classpath 의 mapper 를 모두 읽는다.
+ */
+public final class H2TestDatabase implements AutoCloseable {
+
+	private final HikariDataSource dataSource;
+	private final SqlSessionFactory sessionFactory;
+
+	private H2TestDatabase(HikariDataSource dataSource, SqlSessionFactory sessionFactory) {
+		this.dataSource = dataSource;
+		this.sessionFactory = sessionFactory;
+	}
+
+	/**
+	 * 인메모리 데이터베이스 생성
+	 * @param name 데이터베이스 이름 (테스트 클래스마다 다르게)
+	 * @param plugins 팩토리에 적용할 MyBatis 플러그인
+	 */
+	public static H2TestDatabase create(String name, Interceptor... plugins) throws Exception {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+		dataSource.setMaximumPoolSize(2);
+		try {
+			SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+			factoryBean.setDataSource(dataSource);
+			factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mapper/*.xml"));
+			factoryBean.setPlugins(plugins);
+			return new H2TestDatabase(dataSource, factoryBean.getObject());
+		} catch (Exception e) {
+			dataSource.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * primary/readonly 모두 이 데이터베이스를 쓰는 SqlMapBuilder
+	 */
+	public SqlMapBuilder newSqlMapBuilder() {
+		return new SqlMapBuilder(sessionFactory, sessionFactory);
+	}
+
+	public HikariDataSource getDataSource() {
+		return dataSource;
+	}
+
+	public SqlSessionFactory getSessionFactory() {
+		return sessionFactory;
+	}
+
+	/**
+	 * MyBatis 를 거치지 않고 SQL 실행 (테이블 정리 등)
+	 */
+	public void execute(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	@Override
+	public void close() {
+		dataSource.close();
+	}
+
+	/**
+	 * user.insertUser 파라미터
+	 */
+	public static Map<String, String> user(String userId) {
+		Map<String, String> params = new HashMap<>();
+		params.put("userId", userId);
+		params.put("name", "name-" + userId);
+		params.put("email", userId + "@example.com");
+		params.put("phone", "010-0000-0000");
+		params.put("status", "ACTIVE");
+		params.put("createdAt", "2026-01-01 00:00:00");
+		params.put("updatedAt", "2026-01-01 00:00:00");
+		return params;
+	}
+}